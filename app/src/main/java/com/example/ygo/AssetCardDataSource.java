@@ -0,0 +1,70 @@
+package com.example.ygo;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reads the card data from the APK assets: the compiled cards.bin and drops.bin (memory-mapped
+ * when stored uncompressed), with Cards.json and the droplist text as fallbacks.
+ */
+public class AssetCardDataSource implements CardDataSource {
+    private final AssetManager assetManager;
+
+    public AssetCardDataSource(Context context) {
+        Context appContext = context.getApplicationContext() != null ? context.getApplicationContext() : context;
+        this.assetManager = appContext.getAssets();
+    }
+
+    @Override
+    public ByteBuffer openCardTable() throws IOException {
+        return mapAsset(CardTableReader.ASSET_NAME);
+    }
+
+    @Override
+    public InputStream openCardsJson() throws IOException {
+        return assetManager.open("Cards.json");
+    }
+
+    @Override
+    public ByteBuffer openDropTable() throws IOException {
+        return mapAsset(DropTableReader.ASSET_NAME);
+    }
+
+    @Override
+    public InputStream openDroplist() throws IOException {
+        return assetManager.open("carddata/droplist");
+    }
+
+    private ByteBuffer mapAsset(String name) throws IOException {
+        try {
+            // The asset is stored uncompressed, so it can be mapped directly from the APK
+            AssetFileDescriptor descriptor = assetManager.openFd(name);
+            try (FileInputStream input = descriptor.createInputStream()) {
+                return input.getChannel().map(FileChannel.MapMode.READ_ONLY,
+                        descriptor.getStartOffset(), descriptor.getLength());
+            } finally {
+                descriptor.close();
+            }
+        } catch (FileNotFoundException e) {
+            // openFd fails for compressed assets; read the bytes in one go instead
+            try (InputStream input = assetManager.open(name)) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(input.available());
+                byte[] chunk = new byte[16 * 1024];
+                int read;
+                while ((read = input.read(chunk)) != -1) {
+                    bytes.write(chunk, 0, read);
+                }
+                return ByteBuffer.wrap(bytes.toByteArray());
+            }
+        }
+    }
+}
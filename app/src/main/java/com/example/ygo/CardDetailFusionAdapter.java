@@ -161,8 +161,7 @@ public class CardDetailFusionAdapter extends RecyclerView.Adapter<CardDetailFusi
             }
             
             // Check if this card can be made by fusion
-            List<CardFusionInfo> cardRecipes = fusionEngine.getFusionsResultingIn(card.getId());
-            if (!cardRecipes.isEmpty()) {
+            if (fusionEngine.getRecipeCount(card.getId()) > 0) {
                 return card.getName() + " (can be fused)";
             }
             
@@ -177,13 +176,13 @@ public class CardDetailFusionAdapter extends RecyclerView.Adapter<CardDetailFusi
             Card card2 = fusionInfo.getCard2();
             Card material3 = fusionInfo.getMaterial3();
             
-            if (card1 != null && !fusionEngine.getFusionsResultingIn(card1.getId()).isEmpty()) {
+            if (card1 != null && fusionEngine.getRecipeCount(card1.getId()) > 0) {
                 return true;
             }
-            if (card2 != null && !fusionEngine.getFusionsResultingIn(card2.getId()).isEmpty()) {
+            if (card2 != null && fusionEngine.getRecipeCount(card2.getId()) > 0) {
                 return true;
             }
-            if (material3 != null && !fusionEngine.getFusionsResultingIn(material3.getId()).isEmpty()) {
+            if (material3 != null && fusionEngine.getRecipeCount(material3.getId()) > 0) {
                 return true;
             }
             
@@ -203,21 +202,21 @@ public class CardDetailFusionAdapter extends RecyclerView.Adapter<CardDetailFusi
             Card card2 = fusionInfo.getCard2();
             Card material3 = fusionInfo.getMaterial3();
             
-            if (card1 != null && !fusionEngine.getFusionsResultingIn(card1.getId()).isEmpty()) {
-                int recipeCount = fusionEngine.getFusionsResultingIn(card1.getId()).size();
-                options.add(card1.getName() + " (" + recipeCount + " recipe" + (recipeCount > 1 ? "s" : "") + ")");
+            int card1Recipes = card1 != null ? fusionEngine.getRecipeCount(card1.getId()) : 0;
+            if (card1Recipes > 0) {
+                options.add(card1.getName() + " (" + card1Recipes + " recipe" + (card1Recipes > 1 ? "s" : "") + ")");
                 clickableCards.add(card1);
             }
             
-            if (card2 != null && !fusionEngine.getFusionsResultingIn(card2.getId()).isEmpty()) {
-                int recipeCount = fusionEngine.getFusionsResultingIn(card2.getId()).size();
-                options.add(card2.getName() + " (" + recipeCount + " recipe" + (recipeCount > 1 ? "s" : "") + ")");
+            int card2Recipes = card2 != null ? fusionEngine.getRecipeCount(card2.getId()) : 0;
+            if (card2Recipes > 0) {
+                options.add(card2.getName() + " (" + card2Recipes + " recipe" + (card2Recipes > 1 ? "s" : "") + ")");
                 clickableCards.add(card2);
             }
             
-            if (material3 != null && !fusionEngine.getFusionsResultingIn(material3.getId()).isEmpty()) {
-                int recipeCount = fusionEngine.getFusionsResultingIn(material3.getId()).size();
-                options.add(material3.getName() + " (" + recipeCount + " recipe" + (recipeCount > 1 ? "s" : "") + ")");
+            int material3Recipes = material3 != null ? fusionEngine.getRecipeCount(material3.getId()) : 0;
+            if (material3Recipes > 0) {
+                options.add(material3.getName() + " (" + material3Recipes + " recipe" + (material3Recipes > 1 ? "s" : "") + ")");
                 clickableCards.add(material3);
             }
             
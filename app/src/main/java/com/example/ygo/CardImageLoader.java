@@ -0,0 +1,307 @@
+package com.example.ygo;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.util.LruCache;
+import android.util.SparseArray;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads card artwork into image views, from the WebP thumbnails generated at build time and
+ * the original scans (drawable-nodpi/cNNN_thumb and cNNN_full, NNN = card id - 1, see
+ * card-images.gradle).
+ *
+ * Resource ids come from the id -> drawable table generated with the thumbnails
+ * ({@link CardImageResources}), so nothing is looked up by name at run time. Images
+ * are decoded on background threads from the smallest variant at least as wide as the view,
+ * as RGB_565 and further downsampled on low densities. Decoded bitmaps are kept in an LRU
+ * cache bounded to an eighth of the heap. Views and prefetches asking for the same image share
+ * one decode. Everything but {@link #trimMemory} must be called on the UI thread.
+ */
+public class CardImageLoader {
+    private static final String TAG = "CardImageLoader";
+    private static final int DECODE_THREADS = 2;
+    // Generated from CARD_IMAGE_THUMBNAILS in card-images.gradle plus the originals; narrowest first
+    static final int[] VARIANT_WIDTHS = CardImageResources.VARIANT_WIDTHS;
+    private static volatile CardImageLoader instance;
+
+    /** A decoded image, with the thumbnail variant and sample size it was decoded from. */
+    private static class CachedImage {
+        final Bitmap bitmap;
+        final int variant;
+        final int sampleSize;
+
+        CachedImage(Bitmap bitmap, int variant, int sampleSize) {
+            this.bitmap = bitmap;
+            this.variant = variant;
+            this.sampleSize = sampleSize;
+        }
+
+        // As good as a fresh decode for the view would be, or at least as large as the view
+        boolean covers(int width, int height) {
+            return sampleSize == 1 && variant >= variantFor(width)
+                    || bitmap.getWidth() >= width && bitmap.getHeight() >= height;
+        }
+    }
+
+    /**
+     * One queued or running decode of a card thumbnail, shared by every view waiting for it and
+     * by a prefetch. Visible views are served before prefetches, then in request order.
+     */
+    private class Decode implements Runnable, Comparable<Decode> {
+        final int key;
+        final int cardId;
+        final int width;
+        final int height;
+        final long sequence;
+        volatile boolean forView;
+        volatile boolean cancelled;
+        // Views plus a prefetch holding this decode; only touched on the UI thread
+        int holders;
+        boolean prefetched;
+
+        Decode(int key, int cardId, int width, int height, long sequence) {
+            this.key = key;
+            this.cardId = cardId;
+            this.width = width;
+            this.height = height;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) return;
+            CachedImage decoded = decode(cardId, width, height);
+            mainHandler.post(() -> deliver(this, decoded));
+        }
+
+        @Override
+        public int compareTo(Decode other) {
+            if (forView != other.forView) return forView ? -1 : 1;
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private final Resources resources;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ThreadPoolExecutor decoder;
+    private final LruCache<Integer, CachedImage> cache;
+    // Decode each view waits for, and decodes by card and variant; only touched on the UI thread
+    private final Map<ImageView, Decode> requests = new WeakHashMap<>();
+    private final SparseArray<Decode> decodes = new SparseArray<>();
+    private long nextSequence;
+
+    private CardImageLoader(Context context) {
+        resources = context.getResources();
+        decoder = new ThreadPoolExecutor(DECODE_THREADS, DECODE_THREADS, 0, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "CardImageLoader-decode");
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+        int maxBytes = (int) Math.min(Runtime.getRuntime().maxMemory() / 8, Integer.MAX_VALUE);
+        cache = new LruCache<Integer, CachedImage>(maxBytes) {
+            @Override
+            protected int sizeOf(Integer cardId, CachedImage image) {
+                return image.bitmap.getAllocationByteCount();
+            }
+        };
+    }
+
+    public static CardImageLoader getInstance(Context context) {
+        CardImageLoader loader = instance;
+        if (loader == null) {
+            synchronized (CardImageLoader.class) {
+                loader = instance;
+                if (loader == null) {
+                    loader = new CardImageLoader(context.getApplicationContext());
+                    instance = loader;
+                }
+            }
+        }
+        return loader;
+    }
+
+    /**
+     * Shows a card's image in the view: at once if it is cached at a sufficient size, otherwise
+     * after a background decode, with the card back (or a smaller cached copy) meanwhile.
+     * Replaces any load still pending for the view; joins a prefetch of the same image.
+     */
+    public void load(ImageView view, int cardId) {
+        cancel(view);
+        int width = targetWidth(view);
+        int height = targetHeight(view);
+        CachedImage cached = cache.get(cardId);
+        if (cached != null) {
+            view.setImageBitmap(cached.bitmap);
+            if (cached.covers(width, height)) return;
+        } else {
+            view.setImageResource(R.drawable.card_back);
+        }
+        requests.put(view, acquire(cardId, width, height, true));
+    }
+
+    /** Drops the view's pending load, if any; a decode already running still fills the cache. */
+    public void cancel(ImageView view) {
+        Decode decode = requests.remove(view);
+        if (decode != null) release(decode);
+    }
+
+    /**
+     * Decodes a card's image for a view of the given size ahead of time, unless it is cached.
+     * Returns true if a decode is now pending, to be dropped with {@link #cancelPrefetch}.
+     */
+    public boolean prefetch(int cardId, int width, int height) {
+        CachedImage cached = cache.get(cardId);
+        if (cached != null && cached.covers(width, height)) return false;
+        Decode decode = decodes.get(key(cardId, variantFor(width)));
+        if (decode != null && decode.prefetched) return true;
+        decode = acquire(cardId, width, height, false);
+        decode.prefetched = true;
+        return true;
+    }
+
+    /** Drops a prefetch; the decode goes on if a view is waiting for the same image. */
+    public void cancelPrefetch(int cardId, int width) {
+        Decode decode = decodes.get(key(cardId, variantFor(width)));
+        if (decode == null || !decode.prefetched) return;
+        decode.prefetched = false;
+        release(decode);
+    }
+
+    /** Releases cached bitmaps when the system asks for memory back. */
+    public void trimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            cache.evictAll();
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            cache.trimToSize(cache.maxSize() / 2);
+        }
+    }
+
+    private Decode acquire(int cardId, int width, int height, boolean forView) {
+        int key = key(cardId, variantFor(width));
+        Decode decode = decodes.get(key);
+        if (decode == null) {
+            decode = new Decode(key, cardId, width, height, nextSequence++);
+            decode.forView = forView;
+            decodes.put(key, decode);
+            decoder.execute(decode);
+        } else if (forView && !decode.forView && decoder.remove(decode)) {
+            // A queued prefetch that a view now waits for moves ahead of the other prefetches
+            decode.forView = true;
+            decoder.execute(decode);
+        }
+        decode.holders++;
+        return decode;
+    }
+
+    private void release(Decode decode) {
+        if (--decode.holders > 0 || decodes.get(decode.key) != decode) return;
+        decodes.remove(decode.key);
+        decode.cancelled = true;
+        decoder.remove(decode);
+    }
+
+    private void deliver(Decode decode, CachedImage decoded) {
+        if (decodes.get(decode.key) == decode) decodes.remove(decode.key);
+        List<ImageView> views = new ArrayList<>();
+        for (Map.Entry<ImageView, Decode> entry : requests.entrySet()) {
+            if (entry.getValue() == decode) views.add(entry.getKey());
+        }
+        for (ImageView view : views) {
+            requests.remove(view);
+            if (decoded != null) {
+                view.setImageBitmap(decoded.bitmap);
+            } else if (cache.get(decode.cardId) == null) {
+                view.setImageResource(R.drawable.card_back);
+            }
+        }
+    }
+
+    // Runs on a decode thread
+    private CachedImage decode(int cardId, int width, int height) {
+        CachedImage cached = cache.get(cardId);
+        if (cached != null && cached.covers(width, height)) return cached;
+        int variant = variantFor(width);
+        int resourceId = resourceId(variant, cardId);
+        if (resourceId == 0) return null;
+        try {
+            BitmapFactory.Options options = new BitmapFactory.Options();
+            options.inJustDecodeBounds = true;
+            try (InputStream in = resources.openRawResource(resourceId)) {
+                BitmapFactory.decodeStream(in, null, options);
+            }
+            options.inJustDecodeBounds = false;
+            options.inSampleSize = sampleSize(options.outWidth, options.outHeight, width, height);
+            options.inPreferredConfig = Bitmap.Config.RGB_565;
+            Bitmap bitmap;
+            try (InputStream in = resources.openRawResource(resourceId)) {
+                bitmap = BitmapFactory.decodeStream(in, null, options);
+            }
+            if (bitmap == null) return null;
+            CachedImage decoded = new CachedImage(bitmap, variant, options.inSampleSize);
+            cache.put(cardId, decoded);
+            return decoded;
+        } catch (IOException | RuntimeException e) {
+            Log.w(TAG, "Could not decode image for card " + cardId, e);
+            return null;
+        }
+    }
+
+    // Largest power of two that keeps the image at least as large as the view
+    static int sampleSize(int imageWidth, int imageHeight, int width, int height) {
+        int sampleSize = 1;
+        if (width <= 0 || height <= 0) return sampleSize;
+        while (imageWidth / (sampleSize * 2) >= width && imageHeight / (sampleSize * 2) >= height) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+
+    private static int key(int cardId, int variant) {
+        return cardId * VARIANT_WIDTHS.length + variant;
+    }
+
+    // Narrowest variant at least as wide as the view; the widest when the width is unknown
+    static int variantFor(int width) {
+        if (width <= 0) return VARIANT_WIDTHS.length - 1;
+        for (int variant = 0; variant < VARIANT_WIDTHS.length; variant++) {
+            if (VARIANT_WIDTHS[variant] >= width) return variant;
+        }
+        return VARIANT_WIDTHS.length - 1;
+    }
+
+    private static int resourceId(int variant, int cardId) {
+        int[] drawables = CardImageResources.DRAWABLES[variant];
+        return cardId > 0 && cardId < drawables.length ? drawables[cardId] : 0;
+    }
+
+    private static int targetWidth(ImageView view) {
+        if (view.getWidth() > 0) return view.getWidth();
+        ViewGroup.LayoutParams params = view.getLayoutParams();
+        return params != null && params.width > 0 ? params.width : 0;
+    }
+
+    private static int targetHeight(ImageView view) {
+        if (view.getHeight() > 0) return view.getHeight();
+        ViewGroup.LayoutParams params = view.getLayoutParams();
+        return params != null && params.height > 0 ? params.height : 0;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.ygo;
+
+import android.util.SparseBooleanArray;
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * Decodes card images for the rows about to scroll into view, through {@link CardImageLoader}.
+ *
+ * Watches the scroll direction and speed of a RecyclerView with a linear or grid layout and
+ * keeps prefetches pending for the positions the list will reach within the next
+ * {@link #LOOKAHEAD_FRAMES} frames at the current speed (at least {@link #MIN_AHEAD}). Cards that
+ * leave that window, because they scrolled past or the direction reversed, have their decodes
+ * cancelled. Bound rows share the same decodes and cache, so each image is decoded once.
+ */
+public class CardImagePrefetcher extends RecyclerView.OnScrollListener {
+    /** The card whose image a position will show, or 0 for none. */
+    public interface CardIdLookup {
+        int getCardId(int position);
+    }
+
+    static final int MIN_AHEAD = 6;
+    static final int MAX_AHEAD = 48;
+    static final int LOOKAHEAD_FRAMES = 20;
+
+    private final CardImageLoader loader;
+    private final CardIdLookup lookup;
+    private final int width;
+    private final int height;
+    // Cards with a prefetch pending as of the last update
+    private final SparseBooleanArray pending = new SparseBooleanArray();
+
+    private final RecyclerView.AdapterDataObserver dataObserver = new RecyclerView.AdapterDataObserver() {
+        @Override
+        public void onChanged() {
+            clear();
+        }
+
+        @Override
+        public void onItemRangeInserted(int positionStart, int itemCount) {
+            clear();
+        }
+
+        @Override
+        public void onItemRangeRemoved(int positionStart, int itemCount) {
+            clear();
+        }
+    };
+
+    /** Prefetches for image views of width x height pixels. */
+    public CardImagePrefetcher(CardImageLoader loader, CardIdLookup lookup, int width, int height) {
+        this.loader = loader;
+        this.lookup = lookup;
+        this.width = width;
+        this.height = height;
+    }
+
+    /** Starts watching the list; call after its adapter and layout manager are set. */
+    public void attach(RecyclerView recyclerView) {
+        recyclerView.addOnScrollListener(this);
+        recyclerView.getAdapter().registerAdapterDataObserver(dataObserver);
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        int delta = dy != 0 ? dy : dx;
+        // Layout passes report (0, 0); nothing is moving
+        if (delta == 0 || !(recyclerView.getLayoutManager() instanceof LinearLayoutManager)) return;
+        LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+        int first = layoutManager.findFirstVisibleItemPosition();
+        int last = layoutManager.findLastVisibleItemPosition();
+        if (first < 0 || last < first) return;
+
+        // Positions passed per pixel, times the pixels the list will move at this speed
+        int extent = Math.max(dy != 0 ? recyclerView.getHeight() : recyclerView.getWidth(), 1);
+        long reach = (long) Math.abs(delta) * LOOKAHEAD_FRAMES * (last - first + 1) / extent;
+        int ahead = (int) Math.max(MIN_AHEAD, Math.min(MAX_AHEAD, reach));
+        int count = layoutManager.getItemCount();
+        if (delta > 0) {
+            update(last + 1, Math.min(last + ahead, count - 1), 1);
+        } else {
+            update(first - 1, Math.max(first - ahead, 0), -1);
+        }
+    }
+
+    /** Cancels every pending prefetch. */
+    public void clear() {
+        for (int i = 0; i < pending.size(); i++) {
+            loader.cancelPrefetch(pending.keyAt(i), width);
+        }
+        pending.clear();
+    }
+
+    // Positions nearest to the visible rows first, from one step past them up to the end
+    private void update(int nearest, int farthest, int step) {
+        int count = (farthest - nearest) * step + 1;
+        int[] cardIds = new int[Math.max(count, 0)];
+        SparseBooleanArray wanted = new SparseBooleanArray();
+        for (int i = 0; i < cardIds.length; i++) {
+            cardIds[i] = lookup.getCardId(nearest + i * step);
+            if (cardIds[i] > 0) wanted.put(cardIds[i], true);
+        }
+        for (int i = pending.size() - 1; i >= 0; i--) {
+            int cardId = pending.keyAt(i);
+            if (!wanted.get(cardId)) {
+                loader.cancelPrefetch(cardId, width);
+                pending.delete(cardId);
+            }
+        }
+        // Asked again every time: a finished decode is no longer pending, and its bitmap may
+        // have been evicted since
+        for (int cardId : cardIds) {
+            if (cardId <= 0) continue;
+            if (loader.prefetch(cardId, width, height)) {
+                pending.put(cardId, true);
+            } else {
+                pending.delete(cardId);
+            }
+        }
+    }
+}
@@ -14,14 +14,8 @@ import androidx.recyclerview.widget.GridLayoutManager;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public class CardLibraryActivity extends AppCompatActivity {
     
@@ -54,9 +48,6 @@ public class CardLibraryActivity extends AppCompatActivity {
     private CardLibraryAdapter libraryAdapter;
     private CardDetailFusionAdapter detailFusionAdapter;
     
-    // Drop information cache
-    private Map<Integer, List<DropInfo>> cardDropsMap;
-    
     // UI Components
     private EditText searchInput;
     private Button clearSearchButton;
@@ -81,11 +72,29 @@ public class CardLibraryActivity extends AppCompatActivity {
         fusionEngine = FusionEngine.getInstance();
         allCards = new ArrayList<>();
         displayedCards = new ArrayList<>();
-        cardDropsMap = new HashMap<>();
         
         initializeUI();
-        loadCards();
-        loadDropInformation();
+        
+        // Drop data is compiled at build time and shared; only report failures here
+        DropRegistry.getInstance().loadAsync(new AssetCardDataSource(this)).whenComplete((table, error) -> {
+            if (error != null) {
+                runOnUiThread(() -> Toast.makeText(this, "Error loading drop information", Toast.LENGTH_SHORT).show());
+            }
+        });
+        
+        // The library needs the full card list, so wait for the engine before showing cards
+        if (!fusionEngine.isLoaded()) {
+            cardsCountText.setText("Loading cards...");
+            searchInput.setEnabled(false);
+        }
+        fusionEngine.loadAsync(new AssetCardDataSource(this)).whenComplete((engine, error) -> runOnUiThread(() -> {
+            if (isFinishing() || isDestroyed()) return;
+            searchInput.setEnabled(true);
+            if (error != null) {
+                Toast.makeText(this, "Error loading card data", Toast.LENGTH_SHORT).show();
+            }
+            loadCards();
+        }));
     }
     
     @Override
@@ -108,6 +117,11 @@ public class CardLibraryActivity extends AppCompatActivity {
         libraryAdapter = new CardLibraryAdapter(displayedCards, this::showCardDetail);
         cardsRecycler.setAdapter(libraryAdapter);
         
+        // Decode the images of the rows about to scroll into view (item_library_card is 80x120dp)
+        float density = getResources().getDisplayMetrics().density;
+        new CardImagePrefetcher(CardImageLoader.getInstance(this), position -> displayedCards.get(position).getId(),
+                Math.round(80 * density), Math.round(120 * density)).attach(cardsRecycler);
+        
         // Setup search functionality
         searchInput.addTextChangedListener(new TextWatcher() {
             @Override
@@ -146,11 +160,11 @@ public class CardLibraryActivity extends AppCompatActivity {
         if (query.isEmpty()) {
             displayedCards.addAll(allCards);
         } else {
-            String lowerQuery = query.toLowerCase();
-            for (Card card : allCards) {
-                if (card.getName().toLowerCase().contains(lowerQuery)) {
-                    displayedCards.add(card);
-                }
+            // Ranked matches from the engine's name index, prefix matches first
+            displayedCards.addAll(fusionEngine.searchCards(query, Integer.MAX_VALUE));
+            if (displayedCards.isEmpty()) {
+                // No name contains the text; show the closest names in case of a typo
+                displayedCards.addAll(fusionEngine.searchCardsFuzzy(query, 50, null));
             }
         }
         
@@ -422,18 +436,7 @@ public class CardLibraryActivity extends AppCompatActivity {
     }
     
     private void loadCardImage(ImageView imageView, int cardId) {
-        try {
-            String cardImageName = "c" + String.format("%03d", cardId - 1);
-            int resourceId = getResources().getIdentifier(cardImageName, "drawable", getPackageName());
-            
-            if (resourceId != 0) {
-                imageView.setImageResource(resourceId);
-            } else {
-                imageView.setImageResource(R.drawable.card_back);
-            }
-        } catch (Exception e) {
-            imageView.setImageResource(R.drawable.card_back);
-        }
+        CardImageLoader.getInstance(this).load(imageView, cardId);
     }
     
     private String capitalizeType(String type) {
@@ -441,68 +444,20 @@ public class CardLibraryActivity extends AppCompatActivity {
         return type.substring(0, 1).toUpperCase() + type.substring(1).toLowerCase();
     }
     
-    private void loadDropInformation() {
-        try {
-            InputStream inputStream = getAssets().open("carddata/droplist");
-            BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream));
-            
-            String line;
-            String currentDifficulty = "";
-            String currentOpponent = "";
-            
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                
-                // Skip empty lines
-                if (line.isEmpty()) {
-                    continue;
-                }
-                
-                // Check if this is a difficulty section
-                if (line.contains("SECTION") || line.contains("POW") || line.contains("TECH")) {
-                    currentDifficulty = line;
-                    continue;
-                }
-                
-                // Check if this is an opponent (starts with "Spoiler:")
-                if (line.startsWith("Spoiler:")) {
-                    currentOpponent = line.substring(8).trim(); // Remove "Spoiler: " prefix
-                    continue;
-                }
-                
-                // Check if this is a card drop entry (contains numbers)
-                if (!line.isEmpty() && Character.isDigit(line.charAt(0))) {
-                    try {
-                        String[] parts = line.split("\\s+");
-                        if (parts.length >= 3) {
-                            int cardId = Integer.parseInt(parts[0]);
-                            int dropRate = Integer.parseInt(parts[parts.length - 1]); // Last number is drop rate
-                            
-                            // Create drop info
-                            DropInfo dropInfo = new DropInfo(currentOpponent, currentDifficulty, dropRate);
-                            
-                            // Add to map
-                            if (!cardDropsMap.containsKey(cardId)) {
-                                cardDropsMap.put(cardId, new ArrayList<>());
-                            }
-                            cardDropsMap.get(cardId).add(dropInfo);
-                        }
-                    } catch (NumberFormatException e) {
-                        // Skip malformed lines
-                    }
-                }
-            }
-            
-            reader.close();
-        } catch (IOException e) {
-            e.printStackTrace();
-            Toast.makeText(this, "Error loading drop information", Toast.LENGTH_SHORT).show();
-        }
-    }
-    
     private List<DropInfo> getDropInformation(int cardId) {
-        List<DropInfo> dropInfos = cardDropsMap.get(cardId);
-        return dropInfos != null ? dropInfos : new ArrayList<>();
+        List<DropInfo> dropInfos = new ArrayList<>();
+        DropTable dropTable = DropRegistry.getInstance().getTable();
+        if (dropTable == null) {
+            return dropInfos;
+        }
+        
+        for (int i = 0; i < dropTable.getDropCount(cardId); i++) {
+            int section = dropTable.getDropSection(cardId, i);
+            String opponentName = dropTable.getOpponentName(dropTable.getSectionOpponent(section));
+            String difficulty = dropTable.getSectionDifficulty(section).getHeader();
+            dropInfos.add(new DropInfo(opponentName, difficulty, dropTable.getDropRate(cardId, i)));
+        }
+        return dropInfos;
     }
     
     private void showNestedCardDetail(Card card) {
@@ -75,18 +75,7 @@ public class CardLibraryAdapter extends RecyclerView.Adapter<CardLibraryAdapter.
         }
         
         private void loadCardImage(ImageView imageView, int cardId) {
-            try {
-                String cardImageName = "c" + String.format("%03d", cardId - 1);
-                int resourceId = imageView.getContext().getResources().getIdentifier(cardImageName, "drawable", imageView.getContext().getPackageName());
-                
-                if (resourceId != 0) {
-                    imageView.setImageResource(resourceId);
-                } else {
-                    imageView.setImageResource(R.drawable.card_back);
-                }
-            } catch (Exception e) {
-                imageView.setImageResource(R.drawable.card_back);
-            }
+            CardImageLoader.getInstance(imageView.getContext()).load(imageView, cardId);
         }
         
         private String capitalizeType(String type) {
@@ -8,11 +8,20 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public class FusionResultAdapter extends RecyclerView.Adapter<FusionResultAdapter.FusionViewHolder> {
     private List<FusionEngine.FusionResult> fusionResults;
     private OnFusionClickListener listener;
+    
+    // Grouped mode: one row per group, alternatives are only bound once their group is expanded
+    private List<FusionResultGroup> groups;
+    private final Set<Long> expandedGroups = new HashSet<>();
+    private int[] rowGroup = new int[0];
+    private int[] rowAlternative = new int[0]; // -1 for the group's own row
+    private int rowCount;
 
     public interface OnFusionClickListener {
         void onFusionClick(FusionEngine.FusionResult fusionResult);
@@ -23,6 +32,60 @@ public class FusionResultAdapter extends RecyclerView.Adapter<FusionResultAdapte
         this.listener = listener;
     }
 
+    /**
+     * Switches to grouped mode with the given groups, or back to the plain result list when
+     * groups is null. Expanded groups stay expanded across updates.
+     */
+    public void setGroups(List<FusionResultGroup> groups) {
+        this.groups = groups;
+        rebuildRows();
+        notifyDataSetChanged();
+    }
+    
+    private void rebuildRows() {
+        if (groups == null) {
+            rowCount = 0;
+            return;
+        }
+        int count = groups.size();
+        for (FusionResultGroup group : groups) {
+            if (expandedGroups.contains(group.getKey())) count += group.getAlternativeCount();
+        }
+        if (rowGroup.length < count) {
+            rowGroup = new int[count];
+            rowAlternative = new int[count];
+        }
+        int row = 0;
+        for (int g = 0; g < groups.size(); g++) {
+            FusionResultGroup group = groups.get(g);
+            rowGroup[row] = g;
+            rowAlternative[row++] = -1;
+            if (!expandedGroups.contains(group.getKey())) continue;
+            for (int a = 0; a < group.getAlternativeCount(); a++) {
+                rowGroup[row] = g;
+                rowAlternative[row++] = a;
+            }
+        }
+        rowCount = count;
+    }
+    
+    private void toggleGroup(int groupIndex) {
+        FusionResultGroup group = groups.get(groupIndex);
+        int headerRow = 0;
+        while (rowGroup[headerRow] != groupIndex) headerRow++;
+        
+        boolean expand = expandedGroups.add(group.getKey());
+        if (!expand) expandedGroups.remove(group.getKey());
+        rebuildRows();
+        
+        notifyItemChanged(headerRow);
+        if (expand) {
+            notifyItemRangeInserted(headerRow + 1, group.getAlternativeCount());
+        } else {
+            notifyItemRangeRemoved(headerRow + 1, group.getAlternativeCount());
+        }
+    }
+
     @NonNull
     @Override
     public FusionViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -32,13 +95,39 @@ public class FusionResultAdapter extends RecyclerView.Adapter<FusionResultAdapte
 
     @Override
     public void onBindViewHolder(@NonNull FusionViewHolder holder, int position) {
-        FusionEngine.FusionResult fusionResult = fusionResults.get(position);
-        holder.bind(fusionResult, listener);
+        if (groups == null) {
+            FusionEngine.FusionResult fusionResult = fusionResults.get(position);
+            holder.bind(fusionResult, listener);
+            holder.itemView.setAlpha(1.0f);
+            holder.itemView.setOnClickListener(null);
+            return;
+        }
+        
+        int groupIndex = rowGroup[position];
+        FusionResultGroup group = groups.get(groupIndex);
+        if (rowAlternative[position] >= 0) {
+            // Alternative ways to make the same card, shown dimmed under their group
+            holder.bind(group.getAlternative(rowAlternative[position]), listener);
+            holder.itemView.setAlpha(0.8f);
+            holder.itemView.setOnClickListener(null);
+            return;
+        }
+        
+        holder.bind(group.getRepresentative(), listener);
+        holder.itemView.setAlpha(1.0f);
+        if (group.hasAlternatives()) {
+            boolean expanded = expandedGroups.contains(group.getKey());
+            holder.fusionFormulaText.append(expanded ? "\n▲ Hide other ways"
+                    : "\n▼ " + group.getAlternativeCount() + " other way" + (group.getAlternativeCount() > 1 ? "s" : ""));
+            holder.itemView.setOnClickListener(v -> toggleGroup(groupIndex));
+        } else {
+            holder.itemView.setOnClickListener(null);
+        }
     }
 
     @Override
     public int getItemCount() {
-        return fusionResults.size();
+        return groups != null ? rowCount : fusionResults.size();
     }
 
     static class FusionViewHolder extends RecyclerView.ViewHolder {
@@ -2,7 +2,6 @@ package com.example.ygo;
 
 import android.app.AlertDialog;
 import android.content.Context;
-import android.content.SharedPreferences;
 import android.content.Intent;
 import android.os.Bundle;
 import android.text.Editable;
@@ -17,13 +16,19 @@ import androidx.appcompat.widget.Toolbar;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 public class MainActivity extends AppCompatActivity {
     private FusionEngine fusionEngine;
+    private FusionSession fusionSession;
     private List<Card> hand;
     private List<Card> field;
     private List<FusionEngine.FusionResult> currentFusions;
+    private List<FusionResultGroup> currentGroups;
     
     // UI Components
     private LinearLayout handLayout;
@@ -54,11 +59,25 @@ public class MainActivity extends AppCompatActivity {
     // Auto close dialog setting
     private boolean autoCloseDialog = false; // Default to disabled
     
+    // Group results with the same result card and materials
+    private boolean groupResults = true; // Default to enabled
+    
     // Card memory system
-    private SharedPreferences cardMemoryPrefs;
+    private static final String CARD_USAGE_FILE = "card_usage.bin";
+    // Where the card memory lived before the binary store; migrated once, then cleared
     private static final String CARD_MEMORY_PREFS = "card_memory";
     private static final String KEY_CARD_USAGE_COUNT = "usage_count_";
     private static final String KEY_CARD_LAST_USED = "last_used_";
+    // Opens, migrates and closes the card memory off the UI thread, one activity after another
+    private static final Executor CARD_MEMORY_IO = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "CardMemory-io");
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+    // Null if the store could not be opened; usage is then only kept for this session
+    private CardUsageStore usageStore;
+    // In-memory copy of the card memory, built once the card data is loaded
+    private CardUsageRanking usageRanking;
     
     private static final int MAX_HAND_SIZE = 15;
     private static final int DEFAULT_HAND_SIZE = 6;
@@ -75,15 +94,16 @@ public class MainActivity extends AppCompatActivity {
         setSupportActionBar(toolbar);
         
         // Initialize card memory system
-        cardMemoryPrefs = getSharedPreferences(CARD_MEMORY_PREFS, Context.MODE_PRIVATE);
+        usageRanking = new CardUsageRanking(new ArrayList<>()); // replaced once cards are loaded
         
-        // Initialize data
+        // Initialize data (card data loads in the background, see YgoApplication)
         fusionEngine = FusionEngine.getInstance();
-        fusionEngine.loadData(this);
+        fusionSession = new FusionSession(fusionEngine, MAX_HAND_SIZE, FIELD_SIZE);
         
         hand = new ArrayList<>();
         field = new ArrayList<>();
         currentFusions = new ArrayList<>();
+        currentGroups = new ArrayList<>();
         
         // Initialize hand with default slots (6)
         for (int i = 0; i < MAX_HAND_SIZE; i++) {
@@ -98,6 +118,76 @@ public class MainActivity extends AppCompatActivity {
         initializeUI();
         setupFusionRecycler();
         updateUI();
+        
+        // Until both the card data and the card memory are in
+        showLoadingState(true);
+        fusionEngine.loadAsync(new AssetCardDataSource(this)).whenComplete((engine, error) -> runOnUiThread(() -> onCardDataLoaded(error)));
+    }
+    
+    @Override
+    protected void onPause() {
+        super.onPause();
+        // Synced on the store's flush thread; onPause must not wait on storage
+        if (usageStore != null) usageStore.requestFlush();
+    }
+    
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        closeUsageStore();
+    }
+    
+    // The final sync runs on the card memory thread; onDestroy must not wait on storage
+    private void closeUsageStore() {
+        CardUsageStore store = usageStore;
+        usageStore = null;
+        if (store != null) CARD_MEMORY_IO.execute(() -> closeQuietly(store));
+    }
+    
+    private static void closeQuietly(CardUsageStore store) {
+        try {
+            store.close();
+        } catch (IOException e) {
+            android.util.Log.w("MainActivity", "Could not close card memory", e);
+        }
+    }
+    
+    private void onCardDataLoaded(Throwable error) {
+        if (isFinishing() || isDestroyed()) return;
+        
+        if (error != null) {
+            showLoadingState(false);
+            Toast.makeText(this, "Error loading card data", Toast.LENGTH_LONG).show();
+            return;
+        }
+        fusionSession.invalidateAll();
+        // Card entry stays disabled until the card memory is in, so no use goes unrecorded
+        loadCardUsage();
+    }
+    
+    private void onCardUsageLoaded(CardUsageStore store, CardUsageRanking ranking) {
+        if (isDestroyed()) {
+            if (store != null) CARD_MEMORY_IO.execute(() -> closeQuietly(store));
+            return;
+        }
+        usageStore = store;
+        usageRanking = ranking;
+        showLoadingState(false);
+        updateUI();
+    }
+    
+    // Lightweight placeholder while the card data is still loading: card entry is disabled
+    private void showLoadingState(boolean loading) {
+        addCardButton.setEnabled(!loading);
+        addCardButton.setAlpha(loading ? 0.6f : 1.0f);
+        addCardButton.setText(loading ? "Loading cards..." : "Add Card to Hand");
+        handLayout.setEnabled(!loading);
+        fieldLayout.setEnabled(!loading);
+        if (loading) {
+            handStatusText.setText("Loading card data...");
+        } else {
+            updateStatusTexts();
+        }
     }
     
     @Override
@@ -128,6 +218,13 @@ public class MainActivity extends AppCompatActivity {
             String status = autoCloseDialog ? "enabled" : "disabled";
             Toast.makeText(this, "Auto close dialog " + status, Toast.LENGTH_SHORT).show();
             return true;
+        } else if (item.getItemId() == R.id.action_toggle_grouping) {
+            groupResults = !groupResults;
+            updateMenuItems(null);
+            applySorting();
+            String status = groupResults ? "enabled" : "disabled";
+            Toast.makeText(this, "Result grouping " + status, Toast.LENGTH_SHORT).show();
+            return true;
         } else if (item.getItemId() == R.id.action_information) {
             showInformationDialog();
             return true;
@@ -325,24 +422,8 @@ public class MainActivity extends AppCompatActivity {
     }
     
     private void loadCardImage(ImageView imageView, int cardId) {
-        try {
-            // Format card ID to match file naming convention (c000.jpg, c001.jpg, etc.)
-            // Subtract 1 because card IDs start from 1 but files start from c000
-            String cardImageName = "c" + String.format("%03d", cardId - 1);
-            
-            // Get resource ID for the card image
-            int resourceId = getResources().getIdentifier(cardImageName, "drawable", getPackageName());
-            
-            if (resourceId != 0) {
-                imageView.setImageResource(resourceId);
-            } else {
-                // If card image not found, use default card back
-                imageView.setImageResource(R.drawable.card_back);
-            }
-        } catch (Exception e) {
-            // If any error occurs, use default card back
-            imageView.setImageResource(R.drawable.card_back);
-        }
+        // Decoded off the UI thread and cached, see CardImageLoader
+        CardImageLoader.getInstance(this).load(imageView, cardId);
     }
     
     private void showAddCardDialog() {
@@ -546,32 +627,20 @@ public class MainActivity extends AppCompatActivity {
         
         if (!name.isEmpty()) {
             List<Card> results = fusionEngine.searchCards(name);
-            // Sort results to prioritize previously used cards
-            results.sort((card1, card2) -> {
-                int usage1 = getCardUsageCount(card1.getId());
-                int usage2 = getCardUsageCount(card2.getId());
-                long lastUsed1 = getCardLastUsed(card1.getId());
-                long lastUsed2 = getCardLastUsed(card2.getId());
-                
-                // First priority: cards that have been used before (usage > 0)
-                if (usage1 > 0 && usage2 == 0) return -1;
-                if (usage1 == 0 && usage2 > 0) return 1;
-                
-                // Second priority: among used cards, sort by last used time (most recent first)
-                if (usage1 > 0 && usage2 > 0) {
-                    return Long.compare(lastUsed2, lastUsed1);
-                }
-                
-                // Third priority: for unused cards, sort alphabetically
-                return card1.getName().compareToIgnoreCase(card2.getName());
-            });
+            if (!results.isEmpty()) {
+                // Previously used cards first (most recent first), then the engine's match order
+                usageRanking.moveUsedFirst(results);
+            } else {
+                // Nothing contains the text; assume a typo and offer the closest names, which
+                // come ranked by edit distance and then usage
+                results = fusionEngine.searchCardsFuzzy(name, 20, usageRanking::getUsageCount);
+            }
             searchResultsList.addAll(results);
         } else if (!idStr.isEmpty()) {
             try {
                 int id = Integer.parseInt(idStr);
-                Card card = fusionEngine.findCardById(id);
-                if (card != null) {
-                    searchResultsList.add(card);
+                if (fusionEngine.isValidCardId(id)) {
+                    searchResultsList.add(fusionEngine.findCardById(id));
                 }
             } catch (NumberFormatException e) {
                 // Invalid ID, ignore
@@ -582,35 +651,78 @@ public class MainActivity extends AppCompatActivity {
     }
     
     /**
-     * Save a card's usage to memory system
+     * Open the card memory store and load it into a new ranking on the card memory thread, then
+     * hand both to the UI thread
      */
-    private void saveCardUsage(Card card) {
-        SharedPreferences.Editor editor = cardMemoryPrefs.edit();
-        String usageKey = KEY_CARD_USAGE_COUNT + card.getId();
-        String lastUsedKey = KEY_CARD_LAST_USED + card.getId();
-        
-        // Increment usage count
-        int currentUsage = cardMemoryPrefs.getInt(usageKey, 0);
-        editor.putInt(usageKey, currentUsage + 1);
-        
-        // Update last used timestamp
-        editor.putLong(lastUsedKey, System.currentTimeMillis());
-        
-        editor.apply();
+    private void loadCardUsage() {
+        List<Card> cards = fusionEngine.getAllCards();
+        int maxCardId = fusionEngine.getCardRegistry().getMaxId();
+        Context context = getApplicationContext();
+        CARD_MEMORY_IO.execute(() -> {
+            CardUsageRanking ranking = new CardUsageRanking(cards);
+            CardUsageStore store = openCardUsage(context, maxCardId, ranking);
+            runOnUiThread(() -> onCardUsageLoaded(store, ranking));
+        });
+    }
+    
+    // Runs on the card memory thread; null if the store cannot be used
+    private static CardUsageStore openCardUsage(Context context, int maxCardId, CardUsageRanking ranking) {
+        CardUsageStore store = null;
+        try {
+            store = CardUsageStore.open(new File(context.getFilesDir(), CARD_USAGE_FILE), maxCardId);
+            if (!store.isImported()) {
+                migrateCardMemoryPrefs(context, store);
+                store.markImported();
+                // Cleared only once the store durably holds the copy
+                context.getSharedPreferences(CARD_MEMORY_PREFS, Context.MODE_PRIVATE).edit().clear().apply();
+            }
+            store.loadInto(ranking);
+            return store;
+        } catch (IOException | RuntimeException e) {
+            // The store is not marked as imported and the preferences are kept, so the migration
+            // runs again on the next launch; this session keeps usage in memory only
+            android.util.Log.w("MainActivity", "Card memory unavailable", e);
+            if (store != null) closeQuietly(store);
+            return null;
+        }
     }
     
     /**
-     * Get card usage count from memory
+     * Copy the card memory from the preferences it used to live in into the binary store
      */
-    private int getCardUsageCount(int cardId) {
-        return cardMemoryPrefs.getInt(KEY_CARD_USAGE_COUNT + cardId, 0);
+    private static void migrateCardMemoryPrefs(Context context, CardUsageStore store) throws IOException {
+        Map<String, ?> stored = context.getSharedPreferences(CARD_MEMORY_PREFS, Context.MODE_PRIVATE).getAll();
+        if (stored.isEmpty()) return;
+        int migrated = 0;
+        for (Map.Entry<String, ?> entry : stored.entrySet()) {
+            String key = entry.getKey();
+            if (!key.startsWith(KEY_CARD_USAGE_COUNT) || !(entry.getValue() instanceof Integer)) continue;
+            try {
+                int cardId = Integer.parseInt(key.substring(KEY_CARD_USAGE_COUNT.length()));
+                Object lastUsed = stored.get(KEY_CARD_LAST_USED + cardId);
+                store.setUsage(cardId, (Integer) entry.getValue(), lastUsed instanceof Long ? (Long) lastUsed : 0);
+                migrated++;
+            } catch (NumberFormatException e) {
+                // Not one of ours, ignore
+            }
+        }
+        android.util.Log.d("MainActivity", "Migrated " + migrated + " card memory entries");
     }
     
     /**
-     * Get card last used timestamp from memory
+     * Save a card's usage to memory system
      */
-    private long getCardLastUsed(int cardId) {
-        return cardMemoryPrefs.getLong(KEY_CARD_LAST_USED + cardId, 0);
+    private void saveCardUsage(Card card) {
+        long now = System.currentTimeMillis();
+        usageRanking.recordUse(card.getId(), now);
+        if (usageStore == null) return;
+        
+        // Twelve bytes written in place; the store coalesces the sync to storage
+        try {
+            usageStore.setUsage(card.getId(), usageRanking.getUsageCount(card.getId()), now);
+        } catch (IOException e) {
+            android.util.Log.w("MainActivity", "Could not save card memory", e);
+        }
     }
     
     private void showCardOptionsDialog(Card card, int position, boolean isHand) {
@@ -685,25 +797,15 @@ public class MainActivity extends AppCompatActivity {
     }
     
     private void updateFusionResults() {
-        currentFusions.clear();
-        
-        // Create a sub-list of ALL current hand slots (not just visible ones)
-        // This ensures fusion works with all cards user has, even if not all are visible on screen
-        List<Card> currentHand = new ArrayList<>();
-        for (int i = 0; i < currentHandSize; i++) {
-            currentHand.add(hand.get(i));
-        }
-        
-        // Create a list of current field cards
-        List<Card> currentField = new ArrayList<>(field);
-        
-        List<FusionEngine.FusionResult> newFusions = fusionEngine.findPossibleFusions(currentHand, currentField);
-        currentFusions.addAll(newFusions);
+        // The session only recomputes results for slots that changed since the last update
+        fusionSession.syncHand(hand, currentHandSize);
+        fusionSession.syncField(field);
+        if (!fusionSession.isDirty()) return;
         
         // Apply current sorting
         applySorting();
         
-        android.util.Log.d("MainActivity", "Found " + currentFusions.size() + " fusion results from " + currentHandSize + " hand slots and " + currentField.size() + " field slots");
+        android.util.Log.d("MainActivity", "Found " + currentFusions.size() + " fusion results from " + currentHandSize + " hand slots and " + FIELD_SIZE + " field slots");
         
         int directCount = 0;
         int chainedCount = 0;
@@ -740,46 +842,57 @@ public class MainActivity extends AppCompatActivity {
         }
         
         android.util.Log.d("MainActivity", "Summary: " + directCount + " direct fusions, " + chainedCount + " chained fusions, " + fieldDirectCount + " field direct fusions, " + fieldChainedCount + " field chained fusions");
-        
-        fusionAdapter.notifyDataSetChanged();
     }
     
     private void applySorting() {
+        // Sorting works on a copy of the session's results, so it never reruns the engine
+        currentFusions.clear();
+        currentFusions.addAll(fusionSession.getResults());
+        currentGroups.clear();
+        if (groupResults) {
+            currentGroups.addAll(fusionSession.getGroups());
+        }
+        
+        Comparator<FusionEngine.FusionResult> comparator;
         switch (currentSortType) {
             case ATTACK:
-                sortByAttack();
+                comparator = this::compareByAttack;
                 break;
             case CARD_COUNT:
-                sortByCardCount();
+                comparator = this::compareByCardCount;
                 break;
             case NONE:
             default:
-                // Keep original order - no sorting needed
+                // Keep original order - the copies above are already in engine order
+                comparator = null;
                 break;
         }
+        if (comparator != null) {
+            currentFusions.sort(comparator);
+            // Groups sort by their representative result
+            Comparator<FusionEngine.FusionResult> resultComparator = comparator;
+            currentGroups.sort((group1, group2) -> resultComparator.compare(group1.getRepresentative(), group2.getRepresentative()));
+        }
+        
         if (fusionAdapter != null) {
-            fusionAdapter.notifyDataSetChanged();
+            fusionAdapter.setGroups(groupResults ? currentGroups : null);
         }
     }
     
-    private void sortByAttack() {
-        currentFusions.sort((fusion1, fusion2) -> {
-            int attack1 = fusion1.getResult().getAttack();
-            int attack2 = fusion2.getResult().getAttack();
-            return Integer.compare(attack2, attack1); // Descending order (highest first)
-        });
+    private int compareByAttack(FusionEngine.FusionResult fusion1, FusionEngine.FusionResult fusion2) {
+        int attack1 = fusion1.getResult().getAttack();
+        int attack2 = fusion2.getResult().getAttack();
+        return Integer.compare(attack2, attack1); // Descending order (highest first)
     }
     
-    private void sortByCardCount() {
-        currentFusions.sort((fusion1, fusion2) -> {
-            int cardCount1 = getCardCount(fusion1);
-            int cardCount2 = getCardCount(fusion2);
-            if (cardCount1 != cardCount2) {
-                return Integer.compare(cardCount1, cardCount2); // Ascending order (fewest first)
-            }
-            // If same card count, sort by attack as secondary criteria
-            return Integer.compare(fusion2.getResult().getAttack(), fusion1.getResult().getAttack());
-        });
+    private int compareByCardCount(FusionEngine.FusionResult fusion1, FusionEngine.FusionResult fusion2) {
+        int cardCount1 = getCardCount(fusion1);
+        int cardCount2 = getCardCount(fusion2);
+        if (cardCount1 != cardCount2) {
+            return Integer.compare(cardCount1, cardCount2); // Ascending order (fewest first)
+        }
+        // If same card count, sort by attack as secondary criteria
+        return Integer.compare(fusion2.getResult().getAttack(), fusion1.getResult().getAttack());
     }
     
     private int getCardCount(FusionEngine.FusionResult fusion) {
@@ -818,6 +931,10 @@ public class MainActivity extends AppCompatActivity {
         if (autoCloseItem != null) {
             autoCloseItem.setTitle(autoCloseDialog ? "Auto Close Dialog: ON" : "Auto Close Dialog: OFF");
         }
+        MenuItem groupingItem = menu.findItem(R.id.action_toggle_grouping);
+        if (groupingItem != null) {
+            groupingItem.setTitle(groupResults ? "Group Results: ON" : "Group Results: OFF");
+        }
     }
     
     private void performFusion(FusionEngine.FusionResult fusionResult) {
@@ -0,0 +1,41 @@
+package com.example.ygo;
+
+import android.app.Application;
+import android.util.Log;
+
+public class YgoApplication extends Application {
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        
+        // fusion-core has no Android dependency; route its logging to logcat
+        FusionLog.setLogger(new FusionLog.Logger() {
+            @Override
+            public void debug(String tag, String message) {
+                Log.d(tag, message);
+            }
+            
+            @Override
+            public void warn(String tag, String message, Throwable error) {
+                Log.w(tag, message, error);
+            }
+            
+            @Override
+            public void error(String tag, String message, Throwable error) {
+                Log.e(tag, message, error);
+            }
+        });
+        
+        // Start loading the card and drop data before the first activity needs it; activities
+        // await the same loads through FusionEngine.loadAsync() and DropRegistry.loadAsync()
+        AssetCardDataSource dataSource = new AssetCardDataSource(this);
+        FusionEngine.getInstance().loadAsync(dataSource);
+        DropRegistry.getInstance().loadAsync(dataSource);
+    }
+    
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        CardImageLoader.getInstance(this).trimMemory(level);
+    }
+}
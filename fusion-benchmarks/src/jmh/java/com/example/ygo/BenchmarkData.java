@@ -0,0 +1,54 @@
+package com.example.ygo;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Card data and input generation shared by the benchmarks. Paths come from the ygo.cardsJson
+ * and ygo.cardTable system properties set by the jmh task; all random inputs use fixed seeds.
+ */
+final class BenchmarkData {
+    static final long SEED = 0x59474F46L;
+
+    private BenchmarkData() {
+    }
+
+    static File cardsJson() {
+        return new File(System.getProperty("ygo.cardsJson", "app/src/main/assets/Cards.json"));
+    }
+
+    static File cardTable() {
+        return new File(System.getProperty("ygo.cardTable", "app/build/generated/assets/cardData/cards.bin"));
+    }
+
+    static FusionEngine loadEngine() {
+        FusionEngine engine = new FusionEngine();
+        engine.loadData(new FileCardDataSource(cardTable(), cardsJson()));
+        if (!engine.isLoaded()) {
+            throw new IllegalStateException("Card data could not be loaded from " + cardsJson());
+        }
+        return engine;
+    }
+
+    // Cards that take part in at least one fusion, so generated hands look like real ones
+    static List<Card> fusionMaterials(FusionEngine engine) {
+        List<Card> materials = new ArrayList<>();
+        for (Card card : engine.getAllCards()) {
+            if (!engine.getDirectFusionsForCard(card.getId()).isEmpty()) {
+                materials.add(card);
+            }
+        }
+        return materials;
+    }
+
+    static List<Card> randomCards(List<Card> pool, int count, SplittableRandom random) {
+        List<Card> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Card card = pool.get(random.nextInt(pool.size()));
+            cards.add(new Card(card.getId(), card.getName(), card.getType(), card.getAttack()));
+        }
+        return cards;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.ygo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold load: a fresh engine reading the card data and building every index, from either
+ * Cards.json or the compiled card table.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CardLoadBenchmark {
+    @Param({"json", "table"})
+    public String source;
+
+    private CardDataSource dataSource;
+
+    @Setup
+    public void setUp() {
+        File cardTable = source.equals("table") ? BenchmarkData.cardTable() : null;
+        if (cardTable != null && !cardTable.isFile()) {
+            throw new IllegalStateException("Missing " + cardTable + ", run :app:compileCardTable");
+        }
+        dataSource = new FileCardDataSource(cardTable, BenchmarkData.cardsJson());
+    }
+
+    @Benchmark
+    public FusionEngine coldLoad() {
+        FusionEngine engine = new FusionEngine();
+        engine.loadData(dataSource);
+        return engine;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.ygo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Library-screen queries: name search and the per-card fusion lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CardQueryBenchmark {
+    private static final int CARDS = 256;
+
+    private FusionEngine engine;
+    private final int[] cardIds = new int[CARDS];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        engine = BenchmarkData.loadEngine();
+        List<Card> cards = engine.getAllCards();
+        SplittableRandom random = new SplittableRandom(BenchmarkData.SEED);
+        for (int i = 0; i < CARDS; i++) {
+            cardIds[i] = cards.get(random.nextInt(cards.size())).getId();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SearchQuery {
+        // A common word, a single letter, a prefix and a query with no match
+        @Param({"dragon", "b", "blue-e", "zzz"})
+        public String query;
+    }
+
+    @Benchmark
+    public List<Card> searchCards(SearchQuery search) {
+        return engine.searchCards(search.query);
+    }
+
+    @Benchmark
+    public List<CardFusionInfo> getFusionsUsingCard() {
+        return engine.getFusionsUsingCard(cardIds[next++ & (CARDS - 1)]);
+    }
+
+    @Benchmark
+    public List<CardFusionInfo> getFusionsResultingIn() {
+        return engine.getFusionsResultingIn(cardIds[next++ & (CARDS - 1)]);
+    }
+}
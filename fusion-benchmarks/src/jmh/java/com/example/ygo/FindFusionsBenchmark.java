@@ -0,0 +1,59 @@
+package com.example.ygo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * findPossibleFusions on 5, 10 and 15 card hands, with an empty field or a full five-card
+ * field. Each invocation takes the next of a fixed set of generated hands.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FindFusionsBenchmark {
+    private static final int HANDS = 256;
+    private static final int FIELD_SIZE = 5;
+
+    @Param({"5", "10", "15"})
+    public int handSize;
+
+    @Param({"false", "true"})
+    public boolean withField;
+
+    private FusionEngine engine;
+    private final List<List<Card>> hands = new ArrayList<>();
+    private final List<List<Card>> fields = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        engine = BenchmarkData.loadEngine();
+        List<Card> materials = BenchmarkData.fusionMaterials(engine);
+        SplittableRandom random = new SplittableRandom(BenchmarkData.SEED + handSize);
+        for (int i = 0; i < HANDS; i++) {
+            hands.add(BenchmarkData.randomCards(materials, handSize, random));
+            List<Card> field = withField ? BenchmarkData.randomCards(materials, FIELD_SIZE, random) : new ArrayList<>();
+            while (field.size() < FIELD_SIZE) {
+                field.add(new Card());
+            }
+            fields.add(field);
+        }
+    }
+
+    @Benchmark
+    public List<FusionEngine.FusionResult> findPossibleFusions() {
+        int i = next++ & (HANDS - 1);
+        return engine.findPossibleFusions(hands.get(i), fields.get(i));
+    }
+}
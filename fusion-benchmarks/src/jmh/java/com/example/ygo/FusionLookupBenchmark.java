@@ -0,0 +1,49 @@
+package com.example.ygo;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pair lookups (the engine's checkFusion) over a fixed set of pairs drawn from fusion
+ * materials, so a realistic share of them actually fuse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FusionLookupBenchmark {
+    private static final int PAIRS = 4096;
+
+    private FusionEngine engine;
+    private final int[] card1 = new int[PAIRS];
+    private final int[] card2 = new int[PAIRS];
+
+    @Setup
+    public void setUp() {
+        engine = BenchmarkData.loadEngine();
+        List<Card> materials = BenchmarkData.fusionMaterials(engine);
+        SplittableRandom random = new SplittableRandom(BenchmarkData.SEED);
+        for (int i = 0; i < PAIRS; i++) {
+            card1[i] = materials.get(random.nextInt(materials.size())).getId();
+            card2[i] = materials.get(random.nextInt(materials.size())).getId();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void checkFusion(Blackhole blackhole) {
+        for (int i = 0; i < PAIRS; i++) {
+            blackhole.consume(engine.getFusionResult(card1[i], card2[i]));
+        }
+    }
+}
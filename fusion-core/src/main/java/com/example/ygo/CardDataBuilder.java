@@ -0,0 +1,71 @@
+package com.example.ygo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Collects cards and fusion pairs from a data loader (binary card table or JSON) so the
+ * engine can build its lookup tables from flat arrays, whatever the source format was.
+ */
+public class CardDataBuilder {
+    private final List<Card> cards = new ArrayList<>();
+    private int[] pairCard1 = new int[1024];
+    private int[] pairCard2 = new int[1024];
+    private int[] pairResult = new int[1024];
+    private int pairCount = 0;
+    private int maxCardId = 0;
+
+    public void addCard(int id, String name, int type, int attack) {
+        cards.add(new Card(id, name, getTypeString(type), attack));
+        maxCardId = Math.max(maxCardId, id);
+    }
+
+    // Each pair should be added once, in either order
+    public void addFusion(int card1, int card2, int result) {
+        if (pairCount == pairCard1.length) {
+            pairCard1 = Arrays.copyOf(pairCard1, pairCount * 2);
+            pairCard2 = Arrays.copyOf(pairCard2, pairCount * 2);
+            pairResult = Arrays.copyOf(pairResult, pairCount * 2);
+        }
+        pairCard1[pairCount] = card1;
+        pairCard2[pairCount] = card2;
+        pairResult[pairCount] = result;
+        pairCount++;
+        maxCardId = Math.max(maxCardId, Math.max(Math.max(card1, card2), result));
+    }
+
+    public List<Card> getCards() { return cards; }
+    public int[] getPairCard1() { return pairCard1; }
+    public int[] getPairCard2() { return pairCard2; }
+    public int[] getPairResult() { return pairResult; }
+    public int getPairCount() { return pairCount; }
+    public int getMaxCardId() { return maxCardId; }
+
+    public static String getTypeString(int type) {
+        // This mapping might need adjustment based on the actual type values in the game
+        switch (type) {
+            case 1: return "spellcaster";
+            case 2: return "dragon";
+            case 3: return "zombie";
+            case 4: return "warrior";
+            case 5: return "beast";
+            case 6: return "beast-warrior";
+            case 7: return "winged-beast";
+            case 8: return "fiend";
+            case 9: return "fairy";
+            case 10: return "insect";
+            case 11: return "dinosaur";
+            case 12: return "reptile";
+            case 13: return "fish";
+            case 14: return "sea-serpent";
+            case 15: return "machine";
+            case 16: return "thunder";
+            case 17: return "aqua";
+            case 18: return "pyro";
+            case 19: return "rock";
+            case 20: return "plant";
+            default: return "unknown";
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.ygo;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Where {@link FusionEngine} and {@link DropRegistry} read their data from. The Android app
+ * reads APK assets; JVM tools can use {@link FileCardDataSource}.
+ */
+public interface CardDataSource {
+    /**
+     * The compiled card table ({@link CardTableReader#ASSET_NAME}). Throws IOException if it is
+     * not available, in which case the engine falls back to {@link #openCardsJson()}.
+     */
+    ByteBuffer openCardTable() throws IOException;
+
+    /** Cards.json; the caller closes the stream. */
+    InputStream openCardsJson() throws IOException;
+
+    /**
+     * The compiled drop table ({@link DropTableReader#ASSET_NAME}). Throws IOException if it is
+     * not available, in which case the registry falls back to {@link #openDroplist()}.
+     */
+    default ByteBuffer openDropTable() throws IOException {
+        throw new FileNotFoundException("No drop table");
+    }
+
+    /** The droplist text; the caller closes the stream. */
+    default InputStream openDroplist() throws IOException {
+        throw new FileNotFoundException("No droplist");
+    }
+}
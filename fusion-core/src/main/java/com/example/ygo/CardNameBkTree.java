@@ -0,0 +1,152 @@
+package com.example.ygo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Typo-tolerant card name lookup: a BK-tree over names reduced to lower-case letters and
+ * digits, so "hitotsume giant" finds "Hitotsu-me Giant" and "grigle" finds "Griggle".
+ *
+ * Every child edge of a BK-tree node carries the edit distance between the two names. By the
+ * triangle inequality, a name within distance k of the query can only sit below edges whose
+ * distance is within k of the query's distance to the node, so most of the tree is skipped.
+ * The tree is stored in flat arrays and is immutable once built.
+ */
+public class CardNameBkTree {
+    /** Orders equally close matches; higher keys come first. */
+    public interface Ranking {
+        long getRankKey(int cardId);
+    }
+
+    private final Card[] cards;
+    private final char[][] names;
+    // Node i is card i; children are linked through firstChild / nextSibling
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final int[] edgeDistance;
+    private final int maxNameLength;
+    private int root = -1;
+
+    public CardNameBkTree(List<Card> cardList) {
+        cards = cardList.toArray(new Card[0]);
+        names = new char[cards.length][];
+        firstChild = new int[cards.length];
+        nextSibling = new int[cards.length];
+        edgeDistance = new int[cards.length];
+        Arrays.fill(firstChild, -1);
+        Arrays.fill(nextSibling, -1);
+
+        int longest = 0;
+        for (int i = 0; i < cards.length; i++) {
+            names[i] = normalize(cards[i].getName());
+            longest = Math.max(longest, names[i].length);
+        }
+        maxNameLength = longest;
+
+        int[] previous = new int[longest + 1];
+        int[] current = new int[longest + 1];
+        for (int i = 0; i < cards.length; i++) {
+            insert(i, previous, current);
+        }
+    }
+
+    static char[] normalize(String name) {
+        char[] normalized = new char[name.length()];
+        int length = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isLetterOrDigit(c)) normalized[length++] = Character.toLowerCase(c);
+        }
+        return Arrays.copyOf(normalized, length);
+    }
+
+    /**
+     * Cards whose normalised name is within maxDistance edits of the query, closest first, then
+     * by ranking (may be null), then in card list order.
+     */
+    public List<Card> search(String query, int maxDistance, int limit, Ranking ranking) {
+        List<Card> results = new ArrayList<>();
+        char[] q = normalize(query);
+        if (q.length == 0 || root < 0 || limit <= 0) return results;
+
+        int rowLength = Math.max(q.length, maxNameLength) + 1;
+        int[] previous = new int[rowLength];
+        int[] current = new int[rowLength];
+        int[] stack = new int[cards.length];
+        int[] matchCards = new int[cards.length];
+        int[] matchDistances = new int[cards.length];
+        int matchCount = 0;
+
+        int stackSize = 0;
+        stack[stackSize++] = root;
+        while (stackSize > 0) {
+            int node = stack[--stackSize];
+            int distance = distance(q, names[node], previous, current);
+            if (distance <= maxDistance) {
+                matchCards[matchCount] = node;
+                matchDistances[matchCount++] = distance;
+            }
+            for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+                if (Math.abs(edgeDistance[child] - distance) <= maxDistance) stack[stackSize++] = child;
+            }
+        }
+
+        Integer[] order = new Integer[matchCount];
+        long[] rankKeys = new long[matchCount];
+        for (int i = 0; i < matchCount; i++) {
+            order[i] = i;
+            rankKeys[i] = ranking != null ? ranking.getRankKey(cards[matchCards[i]].getId()) : 0;
+        }
+        Arrays.sort(order, (a, b) -> {
+            if (matchDistances[a] != matchDistances[b]) return Integer.compare(matchDistances[a], matchDistances[b]);
+            if (rankKeys[a] != rankKeys[b]) return Long.compare(rankKeys[b], rankKeys[a]);
+            return Integer.compare(matchCards[a], matchCards[b]);
+        });
+        for (int i = 0; i < matchCount && results.size() < limit; i++) {
+            results.add(cards[matchCards[order[i]]]);
+        }
+        return results;
+    }
+
+    private void insert(int card, int[] previous, int[] current) {
+        if (root < 0) {
+            root = card;
+            return;
+        }
+        int node = root;
+        while (true) {
+            int distance = distance(names[card], names[node], previous, current);
+            int child = firstChild[node];
+            while (child >= 0 && edgeDistance[child] != distance) {
+                child = nextSibling[child];
+            }
+            if (child < 0) {
+                edgeDistance[card] = distance;
+                nextSibling[card] = firstChild[node];
+                firstChild[node] = card;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    // Levenshtein distance with two caller-owned rows
+    private static int distance(char[] a, char[] b, int[] previous, int[] current) {
+        for (int j = 0; j <= b.length; j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length; i++) {
+            current[0] = i;
+            char c = a[i - 1];
+            for (int j = 1; j <= b.length; j++) {
+                int substitute = previous[j - 1] + (c == b[j - 1] ? 0 : 1);
+                current[j] = Math.min(substitute, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length];
+    }
+}
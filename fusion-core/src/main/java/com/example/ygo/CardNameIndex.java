@@ -0,0 +1,190 @@
+package com.example.ygo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Substring search over card names, built once when the card data loads.
+ *
+ * Names are lower-cased up front and stored back to back in one char array. Every run of one
+ * to three characters (a gram) maps to the ordered list of cards whose name contains it. A
+ * query of up to three characters reads its matches straight from that list; a longer query
+ * only checks the cards listed under its rarest trigram. Matches are ranked: names starting
+ * with the query, then names with a word starting with it, then other matches, each in card
+ * list order. Queries allocate per call, never per card. Immutable and safe to share between
+ * threads.
+ */
+public class CardNameIndex {
+    private static final long NO_GRAM = -1;
+
+    private final Card[] cards;
+    private final char[] names;
+    // Name of card i is names[nameStart[i]] until names[nameStart[i + 1]]
+    private final int[] nameStart;
+
+    // Open-addressing table from gram key to gram number
+    private final long[] gramKeys;
+    private final int[] gramIds;
+    private final int gramMask;
+    // Cards containing gram g are postings[postingStart[g]] until postings[postingStart[g + 1]]
+    private final int[] postingStart;
+    private final int[] postings;
+
+    public CardNameIndex(List<Card> cardList) {
+        cards = cardList.toArray(new Card[0]);
+        nameStart = new int[cards.length + 1];
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < cards.length; i++) {
+            text.append(normalize(cards[i].getName()));
+            nameStart[i + 1] = text.length();
+        }
+        names = new char[text.length()];
+        text.getChars(0, text.length(), names, 0);
+
+        // Gather postings per gram; boxing is fine here, queries never touch these maps
+        Map<Long, List<Integer>> byGram = new HashMap<>();
+        for (int i = 0; i < cards.length; i++) {
+            for (int p = nameStart[i]; p < nameStart[i + 1]; p++) {
+                for (int length = 1; length <= 3 && p + length <= nameStart[i + 1]; length++) {
+                    long key = gramKey(names, p, length);
+                    List<Integer> cardsWithGram = byGram.get(key);
+                    if (cardsWithGram == null) {
+                        cardsWithGram = new ArrayList<>();
+                        byGram.put(key, cardsWithGram);
+                    }
+                    // Cards are visited in order, so a repeated gram is always the last entry
+                    if (cardsWithGram.isEmpty() || cardsWithGram.get(cardsWithGram.size() - 1) != i) {
+                        cardsWithGram.add(i);
+                    }
+                }
+            }
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(byGram.size(), 1) * 2 - 1) << 1;
+        gramKeys = new long[capacity];
+        gramIds = new int[capacity];
+        gramMask = capacity - 1;
+        Arrays.fill(gramKeys, NO_GRAM);
+        postingStart = new int[byGram.size() + 1];
+        int postingCount = 0;
+        for (List<Integer> list : byGram.values()) {
+            postingCount += list.size();
+        }
+        postings = new int[postingCount];
+
+        int gram = 0;
+        for (Map.Entry<Long, List<Integer>> entry : byGram.entrySet()) {
+            long key = entry.getKey();
+            int slot = slot(key);
+            while (gramKeys[slot] != NO_GRAM) {
+                slot = (slot + 1) & gramMask;
+            }
+            gramKeys[slot] = key;
+            gramIds[slot] = gram;
+            List<Integer> list = entry.getValue();
+            int start = postingStart[gram];
+            for (int i = 0; i < list.size(); i++) {
+                postings[start + i] = list.get(i);
+            }
+            postingStart[gram + 1] = start + list.size();
+            gram++;
+        }
+    }
+
+    static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /** Cards whose name contains the query (ignoring case), best ranked first. */
+    public List<Card> search(String query, int limit) {
+        char[] q = normalize(query).toCharArray();
+        List<Card> results = new ArrayList<>();
+        if (limit <= 0) return results;
+
+        // Candidates: every card for an empty query, else the cards under the query's rarest gram
+        int candidateStart = 0;
+        int candidateEnd = cards.length;
+        boolean usePostings = false;
+        for (int p = 0; p < Math.max(q.length - 2, 1) && q.length > 0; p++) {
+            int gram = findGram(gramKey(q, p, Math.min(q.length, 3)));
+            if (gram < 0) return results;
+            if (!usePostings || postingStart[gram + 1] - postingStart[gram] < candidateEnd - candidateStart) {
+                candidateStart = postingStart[gram];
+                candidateEnd = postingStart[gram + 1];
+                usePostings = true;
+            }
+        }
+
+        // Bucket matches by rank. Candidates come in card order, so each bucket is already sorted
+        // and the scan can stop once the best bucket alone fills the limit.
+        int[] matches = new int[candidateEnd - candidateStart];
+        byte[] ranks = new byte[matches.length];
+        int matchCount = 0;
+        int prefixCount = 0;
+        for (int c = candidateStart; c < candidateEnd && prefixCount < limit; c++) {
+            int card = usePostings ? postings[c] : c;
+            int at = indexOf(card, q);
+            if (at < 0) continue;
+            int rank = at == nameStart[card] ? 0 : Character.isLetterOrDigit(names[at - 1]) ? 2 : 1;
+            if (rank == 0) prefixCount++;
+            matches[matchCount] = card;
+            ranks[matchCount++] = (byte) rank;
+        }
+        for (int rank = 0; rank <= 2 && results.size() < limit; rank++) {
+            for (int i = 0; i < matchCount && results.size() < limit; i++) {
+                if (ranks[i] == rank) results.add(cards[matches[i]]);
+            }
+        }
+        return results;
+    }
+
+    /** The best ranked match, or null. */
+    public Card findFirst(String query) {
+        List<Card> results = search(query, 1);
+        return results.isEmpty() ? null : results.get(0);
+    }
+
+    // Best-ranked position of the query in a card's name (the start, else the first word
+    // start, else the first match), as an index into names, or -1
+    private int indexOf(int card, char[] q) {
+        int first = -1;
+        int end = nameStart[card + 1] - q.length;
+        for (int start = nameStart[card]; start <= end; start++) {
+            int i = 0;
+            while (i < q.length && names[start + i] == q[i]) {
+                i++;
+            }
+            if (i < q.length) continue;
+            if (start == nameStart[card] || !Character.isLetterOrDigit(names[start - 1])) return start;
+            if (first < 0) first = start;
+        }
+        return first;
+    }
+
+    private int findGram(long key) {
+        int slot = slot(key);
+        while (gramKeys[slot] != NO_GRAM) {
+            if (gramKeys[slot] == key) return gramIds[slot];
+            slot = (slot + 1) & gramMask;
+        }
+        return -1;
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & gramMask;
+    }
+
+    // Up to three chars, 16 bits each, plus the length so "ab" and "\0ab" differ
+    private static long gramKey(char[] text, int start, int length) {
+        long key = length;
+        for (int i = 0; i < length; i++) {
+            key = (key << 16) | text[start + i];
+        }
+        return key;
+    }
+}
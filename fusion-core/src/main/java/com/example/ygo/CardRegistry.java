@@ -0,0 +1,62 @@
+package com.example.ygo;
+
+import java.util.List;
+
+/**
+ * Id-indexed card lookup. Cards are stored in a dense array so that {@link #get(int)} is a
+ * range check plus an array read.
+ */
+public class CardRegistry {
+    private final Card[] cardsById;
+    private final int minId;
+    private final int maxId;
+    private final int size;
+
+    public CardRegistry(List<Card> cards) {
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (Card card : cards) {
+            if (card.getId() < 0) continue;
+            min = Math.min(min, card.getId());
+            max = Math.max(max, card.getId());
+        }
+        if (min > max) {
+            min = 0;
+        }
+
+        cardsById = new Card[max + 1];
+        int count = 0;
+        for (Card card : cards) {
+            if (card.getId() < 0) continue;
+            if (cardsById[card.getId()] == null) count++;
+            cardsById[card.getId()] = card;
+        }
+
+        this.minId = min;
+        this.maxId = max;
+        this.size = count;
+    }
+
+    public Card get(int id) {
+        if (!isValidId(id)) {
+            return null;
+        }
+        return cardsById[id];
+    }
+
+    public boolean isValidId(int id) {
+        return id >= minId && id <= maxId && cardsById[id] != null;
+    }
+
+    public int getMinId() {
+        return minId;
+    }
+
+    public int getMaxId() {
+        return maxId;
+    }
+
+    public int size() {
+        return size;
+    }
+}
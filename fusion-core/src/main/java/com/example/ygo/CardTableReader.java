@@ -0,0 +1,67 @@
+package com.example.ygo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the binary card table (cards.bin) produced at build time by the compileCardTable
+ * task in app/card-data.gradle. See that script for the layout.
+ */
+public class CardTableReader {
+    public static final String ASSET_NAME = "cards.bin";
+    public static final int MAGIC = 0x59474643; // "YGFC"
+    public static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 16;
+    private static final int CARD_RECORD_SIZE = 12;
+    private static final int FUSION_RECORD_SIZE = 6;
+
+    public static void read(ByteBuffer buffer, CardDataBuilder builder) throws IOException {
+        ByteBuffer in = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        if (in.remaining() < HEADER_SIZE || in.getInt() != MAGIC) {
+            throw new IOException("Not a card table");
+        }
+        int version = in.getShort() & 0xFFFF;
+        if (version != VERSION) {
+            throw new IOException("Unsupported card table version " + version);
+        }
+        int cardCount = in.getShort() & 0xFFFF;
+        int fusionCount = in.getInt();
+        int stringBytes = in.getInt();
+
+        long expected = HEADER_SIZE + (long) cardCount * CARD_RECORD_SIZE + stringBytes + (long) fusionCount * FUSION_RECORD_SIZE;
+        if (fusionCount < 0 || stringBytes < 0 || buffer.remaining() < expected) {
+            throw new IOException("Truncated card table");
+        }
+
+        // The string table follows the card records; copy it out once
+        int cardsStart = in.position();
+        byte[] strings = new byte[stringBytes];
+        in.position(cardsStart + cardCount * CARD_RECORD_SIZE);
+        in.get(strings);
+        int fusionsStart = in.position();
+
+        in.position(cardsStart);
+        for (int i = 0; i < cardCount; i++) {
+            int id = in.getShort() & 0xFFFF;
+            int type = in.get() & 0xFF;
+            in.get(); // reserved
+            int attack = in.getShort() & 0xFFFF;
+            int nameOffset = in.getInt();
+            int nameLength = in.getShort() & 0xFFFF;
+
+            String name = new String(strings, nameOffset, nameLength, StandardCharsets.UTF_8);
+            builder.addCard(id, name, type, attack);
+        }
+
+        in.position(fusionsStart);
+        for (int i = 0; i < fusionCount; i++) {
+            int card1 = in.getShort() & 0xFFFF;
+            int card2 = in.getShort() & 0xFFFF;
+            int result = in.getShort() & 0xFFFF;
+            builder.addFusion(card1, card2, result);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.ygo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * How often and how recently the player picked each card, held in arrays indexed by card id,
+ * with a precomputed sort key per card so search results sort by a single long compare.
+ *
+ * The order is: used cards first, most recently used first; then unused cards by name,
+ * ignoring case. Not thread-safe; the app updates and reads it on the UI thread.
+ */
+public class CardUsageRanking implements CardNameBkTree.Ranking {
+    private final int[] usageCounts;
+    private final long[] lastUsed;
+    private final long[] rankKeys;
+    // Position of each card in name order, for the keys of unused cards
+    private final int[] nameRanks;
+
+    public CardUsageRanking(List<Card> cards) {
+        int maxId = 0;
+        for (Card card : cards) {
+            maxId = Math.max(maxId, card.getId());
+        }
+        usageCounts = new int[maxId + 1];
+        lastUsed = new long[maxId + 1];
+        rankKeys = new long[maxId + 1];
+        nameRanks = new int[maxId + 1];
+
+        List<Card> byName = new ArrayList<>(cards);
+        Collections.sort(byName, (a, b) -> a.getName().compareToIgnoreCase(b.getName()));
+        for (int i = 0; i < byName.size(); i++) {
+            if (byName.get(i).getId() >= 0) nameRanks[byName.get(i).getId()] = i;
+        }
+        for (int id = 0; id <= maxId; id++) {
+            updateKey(id);
+        }
+    }
+
+    /** Sets the stored usage of a card, e.g. when loading it from disk. */
+    public void setUsage(int cardId, int count, long lastUsedMillis) {
+        if (!inRange(cardId)) return;
+        usageCounts[cardId] = count;
+        lastUsed[cardId] = lastUsedMillis;
+        updateKey(cardId);
+    }
+
+    /** Counts one more use of a card at the given time. */
+    public void recordUse(int cardId, long timeMillis) {
+        if (!inRange(cardId)) return;
+        usageCounts[cardId]++;
+        lastUsed[cardId] = timeMillis;
+        updateKey(cardId);
+    }
+
+    public int getUsageCount(int cardId) {
+        return inRange(cardId) ? usageCounts[cardId] : 0;
+    }
+
+    public long getLastUsed(int cardId) {
+        return inRange(cardId) ? lastUsed[cardId] : 0;
+    }
+
+    /** Higher keys sort first. */
+    @Override
+    public long getRankKey(int cardId) {
+        return inRange(cardId) ? rankKeys[cardId] : Long.MIN_VALUE;
+    }
+
+    /** Sorts cards by rank key, highest first. */
+    public void sort(List<Card> cards) {
+        Collections.sort(cards, (a, b) -> Long.compare(getRankKey(b.getId()), getRankKey(a.getId())));
+    }
+
+    /**
+     * Moves used cards to the front, most recently used first, and leaves the rest in the order
+     * they came in (e.g. the search's own relevance order). The sort is stable.
+     */
+    public void moveUsedFirst(List<Card> cards) {
+        Collections.sort(cards, (a, b) -> Long.compare(Math.max(getRankKey(b.getId()), 0), Math.max(getRankKey(a.getId()), 0)));
+    }
+
+    // Used cards get 1 + last used time (always positive), unused ones minus their name rank
+    private void updateKey(int cardId) {
+        rankKeys[cardId] = usageCounts[cardId] > 0 ? 1 + Math.max(lastUsed[cardId], 0) : -nameRanks[cardId];
+    }
+
+    private boolean inRange(int cardId) {
+        return cardId >= 0 && cardId < rankKeys.length;
+    }
+}
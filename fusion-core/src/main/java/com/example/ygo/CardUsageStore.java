@@ -0,0 +1,206 @@
+package com.example.ygo;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The player's card memory on disk: one fixed-size record per card id (use count and last use
+ * time) in a memory-mapped file.
+ *
+ * Recording a use writes twelve bytes in place, so the cost does not grow with the number of
+ * cards remembered. Writes land in the page cache straight away; syncing them to storage is
+ * coalesced into one background flush per {@link #FLUSH_DELAY_MILLIS}. {@link #requestFlush()}
+ * brings that flush forward without blocking the caller (e.g. when the app goes to the
+ * background); {@link #flush()} and {@link #close()} sync on the calling thread.
+ *
+ * Layout, big-endian: magic "YGFU", version (short), record size (short), capacity (int),
+ * flags (int, {@link #FLAG_IMPORTED}), then capacity records of count (int) and last used
+ * millis (long).
+ */
+public class CardUsageStore implements Closeable {
+    public static final int MAGIC = 0x59474655; // "YGFU"
+    public static final int VERSION = 1;
+    public static final long FLUSH_DELAY_MILLIS = 2000;
+    /** Set once the card memory kept in an older format has been copied in. */
+    public static final int FLAG_IMPORTED = 1;
+
+    private static final String TAG = "CardUsageStore";
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_SIZE = 12;
+    private static final int FLAGS_OFFSET = 12;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final boolean created;
+    private final ScheduledExecutorService flusher;
+    private MappedByteBuffer buffer;
+    private int capacity;
+    private ScheduledFuture<?> pendingFlush;
+    private boolean closed;
+
+    private CardUsageStore(RandomAccessFile file, boolean created, int capacity) throws IOException {
+        this.file = file;
+        this.channel = file.getChannel();
+        this.created = created;
+        this.capacity = capacity;
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "CardUsageStore-flush");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+    }
+
+    /**
+     * Opens the store, creating it with room for ids up to maxCardId if the file is missing or
+     * not a valid store. {@link #isNew()} tells whether that happened.
+     */
+    public static CardUsageStore open(File path, int maxCardId) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(path, "rw");
+        try {
+            int capacity = readCapacity(file);
+            boolean created = capacity < 0;
+            if (created) {
+                capacity = Math.max(maxCardId + 1, 1);
+                file.setLength(0);
+                file.setLength(HEADER_SIZE + (long) capacity * RECORD_SIZE);
+                file.seek(0);
+                file.writeInt(MAGIC);
+                file.writeShort(VERSION);
+                file.writeShort(RECORD_SIZE);
+                file.writeInt(capacity);
+                file.writeInt(0);
+            }
+            CardUsageStore store = new CardUsageStore(file, created, capacity);
+            if (created) store.flush();
+            return store;
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    // The capacity of a valid store, or -1
+    private static int readCapacity(RandomAccessFile file) throws IOException {
+        if (file.length() < HEADER_SIZE) return -1;
+        file.seek(0);
+        if (file.readInt() != MAGIC || file.readShort() != VERSION || file.readShort() != RECORD_SIZE) return -1;
+        int capacity = file.readInt();
+        if (capacity <= 0 || file.length() < HEADER_SIZE + (long) capacity * RECORD_SIZE) return -1;
+        return capacity;
+    }
+
+    /** True if {@link #open} started a fresh store rather than reading an existing one. */
+    public boolean isNew() {
+        return created;
+    }
+
+    /** True once {@link #markImported()} has completed for this file. */
+    public synchronized boolean isImported() {
+        return (buffer.getInt(FLAGS_OFFSET) & FLAG_IMPORTED) != 0;
+    }
+
+    /**
+     * Durably records that older data has been copied in: the records are synced before the
+     * flag is set, so a copy interrupted before this call is redone on the next launch.
+     */
+    public void markImported() {
+        flush();
+        synchronized (this) {
+            if (closed) throw new IllegalStateException("Store is closed");
+            buffer.putInt(FLAGS_OFFSET, buffer.getInt(FLAGS_OFFSET) | FLAG_IMPORTED);
+        }
+        flush();
+    }
+
+    public synchronized int getUsageCount(int cardId) {
+        return cardId >= 0 && cardId < capacity ? buffer.getInt(offset(cardId)) : 0;
+    }
+
+    public synchronized long getLastUsed(int cardId) {
+        return cardId >= 0 && cardId < capacity ? buffer.getLong(offset(cardId) + 4) : 0;
+    }
+
+    /** Stores a card's usage in place and schedules a flush if none is pending. */
+    public synchronized void setUsage(int cardId, int count, long lastUsedMillis) throws IOException {
+        if (closed) throw new IllegalStateException("Store is closed");
+        if (cardId < 0) return;
+        if (cardId >= capacity) grow(cardId + 1);
+        buffer.putInt(offset(cardId), count);
+        buffer.putLong(offset(cardId) + 4, lastUsedMillis);
+        if (pendingFlush == null) {
+            pendingFlush = flusher.schedule(this::flushQuietly, FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Copies every stored record with at least one use into the ranking. */
+    public synchronized void loadInto(CardUsageRanking ranking) {
+        for (int id = 0; id < capacity; id++) {
+            int count = buffer.getInt(offset(id));
+            if (count > 0) ranking.setUsage(id, count, buffer.getLong(offset(id) + 4));
+        }
+    }
+
+    /** Starts syncing pending changes to storage on the flush thread and returns at once. */
+    public synchronized void requestFlush() {
+        if (closed) return;
+        if (pendingFlush != null) pendingFlush.cancel(false);
+        pendingFlush = flusher.schedule(this::flushQuietly, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /** Writes any pending changes to storage now, on the calling thread. */
+    public void flush() {
+        MappedByteBuffer toForce;
+        synchronized (this) {
+            if (closed) return;
+            if (pendingFlush != null) {
+                pendingFlush.cancel(false);
+                pendingFlush = null;
+            }
+            toForce = buffer;
+        }
+        // Outside the lock so the UI thread never waits on storage to record a use
+        toForce.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+        }
+        flusher.shutdown();
+        file.close();
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            FusionLog.w(TAG, "Could not flush card usage", e);
+        }
+    }
+
+    private void grow(int minCapacity) throws IOException {
+        int newCapacity = Math.max(minCapacity, capacity * 2);
+        buffer.force();
+        file.setLength(HEADER_SIZE + (long) newCapacity * RECORD_SIZE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) newCapacity * RECORD_SIZE);
+        buffer.putInt(8, newCapacity);
+        capacity = newCapacity;
+    }
+
+    private static int offset(int cardId) {
+        return HEADER_SIZE + cardId * RECORD_SIZE;
+    }
+}
@@ -0,0 +1,347 @@
+package com.example.ygo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Searches for a 40-card deck from an owned card pool that maximises the expected score of an
+ * opening hand, by default the best attack it can put on the board (fusion or single card).
+ *
+ * The expectation is estimated over a fixed set of sampled hands, each a set of five deck
+ * positions, so every candidate deck is judged on the same draws. Swapping the card in one
+ * position only changes the hands that contain that position (about one in eight), and only
+ * those are re-evaluated. Each worker runs an iterated local search: single swaps that do not
+ * lower the score are kept, and after a long stall the worker restarts from its best deck with
+ * a few random swaps. The final decks are re-scored on fresh hands to avoid reporting a score
+ * that was fitted to the samples.
+ */
+public class DeckOptimizer {
+    public static final int MAX_COPIES = 3;
+    private static final int SAMPLE_HANDS = 4096;
+    private static final int VALIDATION_HANDS = 32768;
+    // Swaps without improvement before a worker perturbs its best deck
+    private static final int STALL_MOVES = 4000;
+    private static final int PERTURBATION_SWAPS = 3;
+
+    /** Called from worker threads whenever a better deck is found. */
+    public interface ProgressListener {
+        void onProgress(int[] bestDeck, double bestScore, long movesTried, long elapsedMillis);
+    }
+
+    public static class Result {
+        private final int[] deck;
+        private final double score;
+        private final long movesTried;
+
+        Result(int[] deck, double score, long movesTried) {
+            this.deck = deck;
+            this.score = score;
+            this.movesTried = movesTried;
+        }
+
+        /** Card ids of the deck, sorted. */
+        public int[] getDeck() {
+            return deck.clone();
+        }
+
+        /** Mean objective score per opening hand, measured on hands not used by the search. */
+        public double getScore() {
+            return score;
+        }
+
+        public long getMovesTried() {
+            return movesTried;
+        }
+    }
+
+    private final FusionEngine engine;
+    private volatile boolean cancelled;
+
+    // Best sample total across workers, guarded by this
+    private long globalBestTotal;
+    private long movesTried;
+
+    public DeckOptimizer(FusionEngine engine) {
+        this.engine = engine;
+    }
+
+    public Result optimize(int[] ownedCounts, long timeBudgetMillis, long seed, ProgressListener listener) {
+        return optimize(ownedCounts, FusionPlanner.FINAL_ATTACK, timeBudgetMillis, seed, listener);
+    }
+
+    /**
+     * Runs the search for the given time and returns the best deck. {@code ownedCounts[id]} is
+     * the number of copies owned of each card; at most {@link #MAX_COPIES} are used. The
+     * objective scores the best play of a hand as (attack, cards used), a single card counting
+     * as one. The listener may be null.
+     */
+    public Result optimize(int[] ownedCounts, FusionPlanner.Objective objective, long timeBudgetMillis,
+                           long seed, ProgressListener listener) {
+        if (!engine.isLoaded()) {
+            throw new IllegalStateException("Card data is not loaded");
+        }
+        int[] attackById = engine.getAttackById();
+        int[] limits = new int[attackById.length];
+        int available = 0;
+        for (int id = 1; id < Math.min(ownedCounts.length, limits.length); id++) {
+            limits[id] = Math.min(Math.max(ownedCounts[id], 0), MAX_COPIES);
+            available += limits[id];
+        }
+        if (available < DeckSimulator.DECK_SIZE) {
+            throw new IllegalArgumentException("Only " + available + " usable cards owned, a deck needs " + DeckSimulator.DECK_SIZE);
+        }
+        cancelled = false;
+        globalBestTotal = Long.MIN_VALUE;
+        movesTried = 0;
+
+        long start = System.currentTimeMillis();
+        long deadline = start + timeBudgetMillis;
+        SplittableRandom root = new SplittableRandom(seed);
+        int[] samples = sampleHands(root.split(), SAMPLE_HANDS);
+
+        ForkJoinPool pool = engine.isParallelSearchEnabled() ? engine.getSearchPool() : null;
+        int workers = pool != null ? pool.getParallelism() : 1;
+        List<Search> searches = new ArrayList<>();
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            Search search = new Search(samples, limits, attackById, objective, root.split());
+            searches.add(search);
+            Runnable work = () -> search.run(start, deadline, listener);
+            if (pool != null) {
+                tasks.add(pool.submit(work));
+            } else {
+                work.run();
+            }
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+
+        // Pick the winner on hands none of the workers optimised for
+        Search validation = new Search(sampleHands(root.split(), VALIDATION_HANDS), limits, attackById, objective, root.split());
+        int[] bestDeck = null;
+        long bestTotal = Long.MIN_VALUE;
+        long moves = 0;
+        for (Search search : searches) {
+            moves += search.moves;
+            long total = validation.load(search.bestDeck);
+            if (bestDeck == null || total > bestTotal) {
+                bestDeck = search.bestDeck.clone();
+                bestTotal = total;
+            }
+        }
+        Arrays.sort(bestDeck);
+        return new Result(bestDeck, (double) bestTotal / VALIDATION_HANDS, moves);
+    }
+
+    /** Stops a running optimisation; the best deck found so far is returned. */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    // Five distinct deck positions per hand, flat
+    private static int[] sampleHands(SplittableRandom random, int count) {
+        int[] samples = new int[count * DeckSimulator.HAND_SIZE];
+        int[] positions = new int[DeckSimulator.DECK_SIZE];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = i;
+        }
+        for (int hand = 0; hand < count; hand++) {
+            for (int i = 0; i < DeckSimulator.HAND_SIZE; i++) {
+                int pick = i + random.nextInt(positions.length - i);
+                int position = positions[pick];
+                positions[pick] = positions[i];
+                positions[i] = position;
+                samples[hand * DeckSimulator.HAND_SIZE + i] = position;
+            }
+        }
+        return samples;
+    }
+
+    private synchronized void publish(int[] deck, long total, int sampleCount, long moves, long start,
+                                      ProgressListener listener) {
+        movesTried += moves;
+        if (total <= globalBestTotal) return;
+        globalBestTotal = total;
+        if (listener != null) {
+            listener.onProgress(deck.clone(), (double) total / sampleCount, movesTried,
+                    System.currentTimeMillis() - start);
+        }
+    }
+
+    /** One worker's local search; all scratch state is private to it. */
+    private class Search {
+        private final int[] samples;
+        private final int sampleCount;
+        private final int[] limits;
+        // Cards with at least one usable copy, and scratch space for randomCard()
+        private final int[] pool;
+        private final int[] spare;
+        private final int[] attackById;
+        private final FusionPlanner.Objective objective;
+        private final SplittableRandom random;
+        private final FusionBatchEvaluator evaluator;
+        // samplesByPosition[p] = indices of the sampled hands that include deck position p
+        private final int[][] samplesByPosition;
+
+        private final int[] deck = new int[DeckSimulator.DECK_SIZE];
+        private final int[] copies;
+        private final long[] sampleScores;
+        private final long[] pendingScores;
+        private final int[] hand = new int[DeckSimulator.HAND_SIZE];
+        private long total;
+
+        private int[] bestDeck;
+        private long bestTotal;
+        private long moves;
+
+        Search(int[] samples, int[] limits, int[] attackById, FusionPlanner.Objective objective, SplittableRandom random) {
+            this.samples = samples;
+            this.sampleCount = samples.length / DeckSimulator.HAND_SIZE;
+            this.limits = limits;
+            int owned = 0;
+            for (int limit : limits) {
+                if (limit > 0) owned++;
+            }
+            this.pool = new int[owned];
+            this.spare = new int[owned];
+            owned = 0;
+            for (int card = 0; card < limits.length; card++) {
+                if (limits[card] > 0) pool[owned++] = card;
+            }
+            this.attackById = attackById;
+            this.objective = objective;
+            this.random = random;
+            this.evaluator = engine.createBatchEvaluator();
+            this.copies = new int[limits.length];
+            this.sampleScores = new long[sampleCount];
+            this.pendingScores = new long[sampleCount];
+
+            int[] sizes = new int[DeckSimulator.DECK_SIZE];
+            for (int position : samples) {
+                sizes[position]++;
+            }
+            samplesByPosition = new int[DeckSimulator.DECK_SIZE][];
+            for (int p = 0; p < sizes.length; p++) {
+                samplesByPosition[p] = new int[sizes[p]];
+                sizes[p] = 0;
+            }
+            for (int i = 0; i < samples.length; i++) {
+                int position = samples[i];
+                samplesByPosition[position][sizes[position]++] = i / DeckSimulator.HAND_SIZE;
+            }
+        }
+
+        void run(long start, long deadline, ProgressListener listener) {
+            randomDeck();
+            bestDeck = deck.clone();
+            bestTotal = total;
+            publish(bestDeck, bestTotal, sampleCount, 0, start, listener);
+
+            int stall = 0;
+            long unpublishedMoves = 0;
+            while (!cancelled) {
+                // The clock is read once per batch of moves; a move takes well under a millisecond
+                if ((moves & 63) == 0 && System.currentTimeMillis() >= deadline) break;
+                int card = randomCard();
+                // Every owned copy is in the deck, so the starting deck is the only deck
+                if (card == 0) break;
+                moves++;
+                unpublishedMoves++;
+                if (trySwap(random.nextInt(DeckSimulator.DECK_SIZE), card, false) && total > bestTotal) {
+                    bestTotal = total;
+                    System.arraycopy(deck, 0, bestDeck, 0, deck.length);
+                    publish(bestDeck, bestTotal, sampleCount, unpublishedMoves, start, listener);
+                    unpublishedMoves = 0;
+                    stall = 0;
+                } else if (++stall >= STALL_MOVES) {
+                    load(bestDeck);
+                    for (int i = 0; i < PERTURBATION_SWAPS; i++) {
+                        int perturbation = randomCard();
+                        if (perturbation != 0) trySwap(random.nextInt(DeckSimulator.DECK_SIZE), perturbation, true);
+                    }
+                    stall = 0;
+                }
+            }
+            publish(bestDeck, bestTotal, sampleCount, unpublishedMoves, start, listener);
+        }
+
+        // Replaces the current deck and scores every sampled hand; returns the total
+        long load(int[] cards) {
+            Arrays.fill(copies, 0);
+            for (int p = 0; p < deck.length; p++) {
+                deck[p] = cards[p];
+                copies[cards[p]]++;
+            }
+            total = 0;
+            for (int s = 0; s < sampleCount; s++) {
+                sampleScores[s] = scoreHand(s);
+                total += sampleScores[s];
+            }
+            return total;
+        }
+
+        private void randomDeck() {
+            int[] cards = new int[DeckSimulator.DECK_SIZE];
+            Arrays.fill(copies, 0);
+            for (int p = 0; p < cards.length; p++) {
+                int card = randomCard();
+                cards[p] = card;
+                copies[card]++;
+            }
+            load(cards);
+        }
+
+        // A random card that still has a spare copy, or 0 if every owned copy is in use
+        private int randomCard() {
+            int count = 0;
+            for (int card : pool) {
+                if (copies[card] < limits[card]) spare[count++] = card;
+            }
+            return count > 0 ? spare[random.nextInt(count)] : 0;
+        }
+
+        // Puts card into a position, re-scoring only the hands that draw that position. Kept if
+        // the total does not drop, or always when forced.
+        private boolean trySwap(int position, int card, boolean force) {
+            int old = deck[position];
+            if (old == card) return false;
+            deck[position] = card;
+            int[] affected = samplesByPosition[position];
+            long delta = 0;
+            for (int s : affected) {
+                pendingScores[s] = scoreHand(s);
+                delta += pendingScores[s] - sampleScores[s];
+            }
+            if (delta < 0 && !force) {
+                deck[position] = old;
+                return false;
+            }
+            for (int s : affected) {
+                sampleScores[s] = pendingScores[s];
+            }
+            total += delta;
+            copies[old]--;
+            copies[card]++;
+            return true;
+        }
+
+        private long scoreHand(int sample) {
+            int offset = sample * DeckSimulator.HAND_SIZE;
+            int strongest = 0;
+            for (int i = 0; i < DeckSimulator.HAND_SIZE; i++) {
+                hand[i] = deck[samples[offset + i]];
+                strongest = Math.max(strongest, attackById[hand[i]]);
+            }
+            long score = objective.score(strongest, 1);
+            if (evaluator.evaluateHand(hand, DeckSimulator.HAND_SIZE) != FusionIndex.NO_FUSION) {
+                score = Math.max(score, objective.score(evaluator.getBestAttack(), evaluator.getBestCardsUsed()));
+            }
+            return score;
+        }
+    }
+}
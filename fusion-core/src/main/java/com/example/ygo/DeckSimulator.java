@@ -0,0 +1,162 @@
+package com.example.ygo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Monte Carlo estimate of how strong a deck is: deals many duels from a shuffled deck and records
+ * the best attack each hand can put on the board, see {@link DeckStatistics}.
+ *
+ * Every deal draws an opening hand of five cards. Each turn the hand plays its strongest option,
+ * either the best fusion ({@link FusionBatchEvaluator} rules, no field cards) or the strongest
+ * single card, then refills to five from the deck. Fusions therefore use two or three hand
+ * cards; longer chains such as {@link FusionPlanner} finds are not tried, so the recorded best
+ * attack is a lower bound on what a hand can reach. Deals run in fixed-size batches, each with its
+ * own split of the seeded RNG, so the same seed gives the same statistics on any number of cores.
+ */
+public class DeckSimulator {
+    public static final int DECK_SIZE = 40;
+    public static final int HAND_SIZE = 5;
+    // Deals per batch; also how often partial statistics are reported
+    private static final int DEALS_PER_BATCH = 16384;
+
+    /**
+     * Receives a snapshot of the merged statistics after every finished batch, on the worker
+     * thread that ran it. Batches finish concurrently, so reports may arrive out of order;
+     * dealsDone tells which is the latest.
+     */
+    public interface ProgressListener {
+        void onProgress(DeckStatistics partial, long dealsDone, long dealsTotal);
+    }
+
+    private final FusionEngine engine;
+    private volatile boolean cancelled;
+
+    public DeckSimulator(FusionEngine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Simulates the given number of deals of up to {@code turns} turns each. Blocks until done
+     * (or cancelled, in which case the statistics cover the batches finished so far). The
+     * listener may be null.
+     */
+    public DeckStatistics simulate(int[] deck, long deals, int turns, long seed, ProgressListener listener) {
+        if (!engine.isLoaded()) {
+            throw new IllegalStateException("Card data is not loaded");
+        }
+        int[] attackById = engine.getAttackById();
+        if (deck.length != DECK_SIZE) {
+            throw new IllegalArgumentException("A deck needs " + DECK_SIZE + " cards, got " + deck.length);
+        }
+        for (int card : deck) {
+            if (card <= 0 || card >= attackById.length) {
+                throw new IllegalArgumentException("Unknown card id " + card);
+            }
+        }
+        cancelled = false;
+
+        int maxAttack = maxAttack(attackById);
+        DeckStatistics total = new DeckStatistics(turns, maxAttack, attackById.length - 1);
+        long[] dealsDone = new long[1];
+
+        // Batch seeds are split off in order before any batch runs, which keeps results reproducible
+        SplittableRandom root = new SplittableRandom(seed);
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        ForkJoinPool pool = engine.isParallelSearchEnabled() ? engine.getSearchPool() : null;
+        for (long start = 0; start < deals; start += DEALS_PER_BATCH) {
+            int count = (int) Math.min(DEALS_PER_BATCH, deals - start);
+            SplittableRandom random = root.split();
+            Runnable batch = () -> {
+                if (cancelled) return;
+                DeckStatistics part = runBatch(deck, count, turns, random, attackById, maxAttack);
+                DeckStatistics snapshot;
+                long done;
+                synchronized (total) {
+                    total.merge(part);
+                    done = dealsDone[0] += count;
+                    snapshot = listener != null ? total.copy() : null;
+                }
+                // Outside the lock so a slow listener does not hold up the other batches
+                if (snapshot != null) listener.onProgress(snapshot, done, deals);
+            };
+            if (pool != null) {
+                tasks.add(pool.submit(batch));
+            } else {
+                batch.run();
+            }
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+        synchronized (total) {
+            return total;
+        }
+    }
+
+    /** Stops a running simulation after the batches already in progress. */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private DeckStatistics runBatch(int[] sourceDeck, int deals, int turns, SplittableRandom random,
+                                    int[] attackById, int maxAttack) {
+        DeckStatistics statistics = new DeckStatistics(turns, maxAttack, attackById.length - 1);
+        FusionBatchEvaluator evaluator = engine.createBatchEvaluator();
+        // The deck is shuffled in place deal after deal; any permutation is as good a start as the original
+        int[] deck = sourceDeck.clone();
+        int[] hand = new int[HAND_SIZE];
+
+        for (int deal = 0; deal < deals; deal++) {
+            int drawn = 0;
+            int handSize = 0;
+            for (int turn = 0; turn < turns; turn++) {
+                // Partial Fisher-Yates: draw a random card from the part of the deck not yet drawn
+                while (handSize < HAND_SIZE && drawn < deck.length) {
+                    int pick = drawn + random.nextInt(deck.length - drawn);
+                    int card = deck[pick];
+                    deck[pick] = deck[drawn];
+                    deck[drawn++] = card;
+                    hand[handSize++] = card;
+                }
+                if (handSize == 0) break;
+
+                int strongest = 0;
+                for (int i = 1; i < handSize; i++) {
+                    if (attackById[hand[i]] > attackById[hand[strongest]]) strongest = i;
+                }
+                int singleAttack = attackById[hand[strongest]];
+                int result = evaluator.evaluateHand(hand, handSize);
+
+                if (result != FusionIndex.NO_FUSION && evaluator.getBestAttack() > singleAttack) {
+                    statistics.recordHand(turn, evaluator.getBestAttack(), result);
+                    handSize = removeCards(hand, handSize, evaluator.getBestHandMask());
+                } else {
+                    statistics.recordHand(turn, singleAttack, 0);
+                    handSize = removeCards(hand, handSize, 1 << strongest);
+                }
+            }
+        }
+        return statistics;
+    }
+
+    private static int maxAttack(int[] attackById) {
+        int max = 0;
+        for (int attack : attackById) {
+            max = Math.max(max, attack);
+        }
+        return max;
+    }
+
+    // Drops the masked positions, keeping the order of the rest
+    private static int removeCards(int[] hand, int handSize, int mask) {
+        int kept = 0;
+        for (int i = 0; i < handSize; i++) {
+            if ((mask & (1 << i)) == 0) hand[kept++] = hand[i];
+        }
+        return kept;
+    }
+}
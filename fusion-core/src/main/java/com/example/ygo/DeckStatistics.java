@@ -0,0 +1,125 @@
+package com.example.ygo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Counts gathered by {@link DeckSimulator}: for every turn of a simulated duel, a histogram of
+ * the best attack the hand could put on the board, plus how often each card was the best
+ * fusion. "Best attack" is the stronger of the strongest single card and the best fusion of
+ * two or three hand cards ({@link FusionBatchEvaluator} rules), not the longest chain the hand
+ * allows. Instances are not thread-safe; the simulator fills one per batch and merges them.
+ */
+public class DeckStatistics {
+    private final int maxAttack;
+    // attackCounts[turn][attack] = hands whose best play had exactly that attack
+    private final long[][] attackCounts;
+    private final long[] handCounts;
+    private final long[] attackSums;
+    // fusionCounts[cardId] = hands whose best play was a fusion into that card
+    private final long[] fusionCounts;
+
+    public DeckStatistics(int turns, int maxAttack, int maxCardId) {
+        this.maxAttack = maxAttack;
+        this.attackCounts = new long[turns][maxAttack + 1];
+        this.handCounts = new long[turns];
+        this.attackSums = new long[turns];
+        this.fusionCounts = new long[maxCardId + 1];
+    }
+
+    void recordHand(int turn, int bestAttack, int fusionResult) {
+        attackCounts[turn][Math.min(Math.max(bestAttack, 0), maxAttack)]++;
+        handCounts[turn]++;
+        attackSums[turn] += bestAttack;
+        if (fusionResult > 0 && fusionResult < fusionCounts.length) {
+            fusionCounts[fusionResult]++;
+        }
+    }
+
+    /** Adds the counts of another instance built with the same dimensions. */
+    public void merge(DeckStatistics other) {
+        for (int turn = 0; turn < handCounts.length; turn++) {
+            long[] counts = attackCounts[turn];
+            long[] otherCounts = other.attackCounts[turn];
+            for (int attack = 0; attack < counts.length; attack++) {
+                counts[attack] += otherCounts[attack];
+            }
+            handCounts[turn] += other.handCounts[turn];
+            attackSums[turn] += other.attackSums[turn];
+        }
+        for (int id = 0; id < fusionCounts.length; id++) {
+            fusionCounts[id] += other.fusionCounts[id];
+        }
+    }
+
+    public DeckStatistics copy() {
+        DeckStatistics copy = new DeckStatistics(handCounts.length, maxAttack, fusionCounts.length - 1);
+        copy.merge(this);
+        return copy;
+    }
+
+    public int getTurnCount() {
+        return handCounts.length;
+    }
+
+    public int getMaxAttack() {
+        return maxAttack;
+    }
+
+    /** Number of simulated hands for a turn; fewer than the deal count once decks run out. */
+    public long getHandCount(int turn) {
+        return handCounts[turn];
+    }
+
+    public long getAttackCount(int turn, int attack) {
+        return attack >= 0 && attack <= maxAttack ? attackCounts[turn][attack] : 0;
+    }
+
+    public double getMeanBestAttack(int turn) {
+        return handCounts[turn] == 0 ? 0 : (double) attackSums[turn] / handCounts[turn];
+    }
+
+    /** Share of hands in a turn whose best play reaches at least the given attack. */
+    public double getProbabilityAtLeast(int turn, int attack) {
+        if (handCounts[turn] == 0) return 0;
+        long reached = 0;
+        long[] counts = attackCounts[turn];
+        for (int value = Math.max(attack, 0); value <= maxAttack; value++) {
+            reached += counts[value];
+        }
+        return (double) reached / handCounts[turn];
+    }
+
+    /** Smallest attack that at least the given share (0..1) of the turn's hands stay at or below. */
+    public int getAttackPercentile(int turn, double share) {
+        long target = (long) Math.ceil(share * handCounts[turn]);
+        long seen = 0;
+        long[] counts = attackCounts[turn];
+        for (int attack = 0; attack <= maxAttack; attack++) {
+            seen += counts[attack];
+            if (seen >= target && seen > 0) return attack;
+        }
+        return 0;
+    }
+
+    public long getFusionCount(int cardId) {
+        return cardId >= 0 && cardId < fusionCounts.length ? fusionCounts[cardId] : 0;
+    }
+
+    /** Card ids of the most frequent best fusions across all turns, most frequent first. */
+    public List<Integer> getMostFrequentFusions(int limit) {
+        // Sort (count, id) pairs packed into longs; counts stay far below 2^42
+        long[] keys = new long[fusionCounts.length];
+        int size = 0;
+        for (int id = 0; id < fusionCounts.length; id++) {
+            if (fusionCounts[id] > 0) keys[size++] = (fusionCounts[id] << 20) | (0xFFFFF - id);
+        }
+        Arrays.sort(keys, 0, size);
+        List<Integer> ids = new ArrayList<>(Math.min(limit, size));
+        for (int i = size - 1; i >= 0 && ids.size() < limit; i--) {
+            ids.add(0xFFFFF - (int) (keys[i] & 0xFFFFF));
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.ygo;
+
+/**
+ * The three droplist sections: drops after an S or A rank win by power or by technique, and
+ * after a B, C or D rank win (either style).
+ */
+public enum DropDifficulty {
+    SA_POW("S/A POW SECTION"),
+    SA_TEC("S/A TECH SECTION"),
+    BCD_POW_TEC("B/C/D POW&TEC SECTION");
+
+    private final String header;
+
+    DropDifficulty(String header) {
+        this.header = header;
+    }
+
+    /** The section header as written in the droplist, also used as the display label. */
+    public String getHeader() {
+        return header;
+    }
+
+    /** Matches a droplist section header line, or returns null. */
+    public static DropDifficulty fromHeader(String line) {
+        if (line.startsWith("B/C/D")) return BCD_POW_TEC;
+        if (line.startsWith("S/A") && line.contains("TECH")) return SA_TEC;
+        if (line.startsWith("S/A") && line.contains("POW")) return SA_POW;
+        return null;
+    }
+}
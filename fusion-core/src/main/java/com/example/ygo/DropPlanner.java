@@ -0,0 +1,201 @@
+package com.example.ygo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ranks droplist sections (opponent + difficulty) by how many duels it takes to farm a set of
+ * target cards.
+ *
+ * A won duel drops exactly one card, drawn with the section's weights out of
+ * {@link DropTable#TOTAL_WEIGHT}, so collecting several targets in one section is a coupon
+ * collector problem with unequal probabilities. The expected number of duels is computed exactly
+ * by inclusion-exclusion for small target sets and by integrating the Poissonised form otherwise.
+ */
+public class DropPlanner {
+    // Largest target count handled by inclusion-exclusion (2^n subsets)
+    private static final int MAX_EXACT_TARGETS = 10;
+    private static final int INTEGRATION_STEPS = 20000;
+
+    /** What farming one section yields for the targets it drops. */
+    public static class Option {
+        private final int section;
+        private final int[] cards;
+        private final double chancePerDuel;
+        private final double expectedDuels;
+
+        Option(int section, int[] cards, double chancePerDuel, double expectedDuels) {
+            this.section = section;
+            this.cards = cards;
+            this.chancePerDuel = chancePerDuel;
+            this.expectedDuels = expectedDuels;
+        }
+
+        public int getSection() {
+            return section;
+        }
+
+        /** Target cards dropped by this section, by card id. */
+        public int[] getCards() {
+            return cards.clone();
+        }
+
+        public int getCardCount() {
+            return cards.length;
+        }
+
+        /** Chance that one won duel drops any of the cards. */
+        public double getChancePerDuel() {
+            return chancePerDuel;
+        }
+
+        /** Expected won duels until every one of the cards has dropped at least once. */
+        public double getExpectedDuels() {
+            return expectedDuels;
+        }
+    }
+
+    private final DropTable table;
+
+    public DropPlanner(DropTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Every section that drops at least one target, best first: most targets covered, then
+     * fewest expected duels to collect them all.
+     */
+    public List<Option> rankSections(int[] targets) {
+        int[] unique = distinct(targets);
+        // Per-section weight of each target, gathered through the card index in one pass
+        int sectionCount = table.getSectionCount();
+        int[][] rates = new int[sectionCount][];
+        int[] covered = new int[sectionCount];
+        for (int t = 0; t < unique.length; t++) {
+            int card = unique[t];
+            for (int i = 0; i < table.getDropCount(card); i++) {
+                int section = table.getDropSection(card, i);
+                if (rates[section] == null) rates[section] = new int[unique.length];
+                rates[section][t] = table.getDropRate(card, i);
+                covered[section]++;
+            }
+        }
+
+        List<Option> options = new ArrayList<>();
+        double[] probabilities = new double[unique.length];
+        for (int section = 0; section < sectionCount; section++) {
+            if (covered[section] == 0) continue;
+            int[] cards = new int[covered[section]];
+            int count = 0;
+            int weight = 0;
+            for (int t = 0; t < unique.length; t++) {
+                int rate = rates[section][t];
+                if (rate == 0) continue;
+                cards[count] = unique[t];
+                probabilities[count++] = (double) rate / DropTable.TOTAL_WEIGHT;
+                weight += rate;
+            }
+            options.add(new Option(section, cards, (double) weight / DropTable.TOTAL_WEIGHT,
+                    expectedDuels(probabilities, count)));
+        }
+        Collections.sort(options, (a, b) -> {
+            if (a.cards.length != b.cards.length) return Integer.compare(b.cards.length, a.cards.length);
+            return Double.compare(a.expectedDuels, b.expectedDuels);
+        });
+        return options;
+    }
+
+    /**
+     * A farming route covering the targets: repeatedly picks the section that collects the
+     * remaining targets at the lowest expected duels per card. Targets no opponent drops are
+     * left out. The route's total is an upper bound, since a section may also drop targets
+     * assigned to later steps.
+     */
+    public List<Option> planRoute(int[] targets) {
+        List<Option> route = new ArrayList<>();
+        int[] remaining = distinct(targets);
+        while (remaining.length > 0) {
+            Option best = null;
+            for (Option option : rankSections(remaining)) {
+                if (best == null || option.expectedDuels / option.cards.length < best.expectedDuels / best.cards.length) {
+                    best = option;
+                }
+            }
+            if (best == null) break;
+            route.add(best);
+            remaining = without(remaining, best.cards);
+        }
+        return route;
+    }
+
+    /**
+     * Expected trials until each of the first {@code count} outcomes has occurred, when one
+     * trial yields at most one outcome with the given probabilities.
+     */
+    public static double expectedDuels(double[] probabilities, int count) {
+        if (count == 0) return 0;
+        for (int i = 0; i < count; i++) {
+            if (probabilities[i] <= 0) return Double.POSITIVE_INFINITY;
+        }
+        if (count <= MAX_EXACT_TARGETS) {
+            // E = sum over non-empty subsets S of (-1)^(|S|+1) / P(S)
+            double[] subsetSums = new double[1 << count];
+            double expected = 0;
+            for (int mask = 1; mask < subsetSums.length; mask++) {
+                int lowest = Integer.numberOfTrailingZeros(mask);
+                subsetSums[mask] = subsetSums[mask & (mask - 1)] + probabilities[lowest];
+                double term = 1 / subsetSums[mask];
+                expected += (Integer.bitCount(mask) & 1) == 1 ? term : -term;
+            }
+            return expected;
+        }
+
+        // E = integral over t >= 0 of 1 - prod(1 - exp(-p_i t)), by Simpson's rule up to the
+        // point where the rarest card is all but certain to have dropped
+        double rarest = Double.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            rarest = Math.min(rarest, probabilities[i]);
+        }
+        double end = Math.log(count * 1e12) / rarest;
+        double step = end / INTEGRATION_STEPS;
+        double sum = 0;
+        for (int k = 0; k <= INTEGRATION_STEPS; k++) {
+            double t = k * step;
+            double allDropped = 1;
+            for (int i = 0; i < count; i++) {
+                allDropped *= 1 - Math.exp(-probabilities[i] * t);
+            }
+            double weight = k == 0 || k == INTEGRATION_STEPS ? 1 : (k & 1) == 1 ? 4 : 2;
+            sum += weight * (1 - allDropped);
+        }
+        return sum * step / 3;
+    }
+
+    private static int[] distinct(int[] cards) {
+        int[] sorted = cards.clone();
+        Arrays.sort(sorted);
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (sorted[i] > 0 && (count == 0 || sorted[count - 1] != sorted[i])) sorted[count++] = sorted[i];
+        }
+        return Arrays.copyOf(sorted, count);
+    }
+
+    private static int[] without(int[] cards, int[] removed) {
+        int[] kept = new int[cards.length];
+        int count = 0;
+        for (int card : cards) {
+            boolean found = false;
+            for (int other : removed) {
+                if (other == card) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) kept[count++] = card;
+        }
+        return Arrays.copyOf(kept, count);
+    }
+}
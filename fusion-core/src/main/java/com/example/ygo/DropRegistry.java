@@ -0,0 +1,89 @@
+package com.example.ygo;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Process-wide holder of the {@link DropTable}. The table is loaded once, from the compiled
+ * drop table when available and from the droplist text otherwise, and shared read-only.
+ */
+public class DropRegistry {
+    private static final String TAG = "DropRegistry";
+    private static volatile DropRegistry instance;
+
+    private volatile DropTable table;
+    private final Object loadLock = new Object();
+    private CompletableFuture<DropTable> loadFuture;
+
+    DropRegistry() {
+    }
+
+    public static DropRegistry getInstance() {
+        DropRegistry registry = instance;
+        if (registry == null) {
+            synchronized (DropRegistry.class) {
+                registry = instance;
+                if (registry == null) {
+                    registry = new DropRegistry();
+                    instance = registry;
+                }
+            }
+        }
+        return registry;
+    }
+
+    /**
+     * Starts loading the table on a background thread; every caller gets the same future,
+     * unless the load failed, in which case the next call starts a new one.
+     */
+    public CompletableFuture<DropTable> loadAsync(CardDataSource source) {
+        synchronized (loadLock) {
+            if (loadFuture == null || loadFuture.isCompletedExceptionally()) {
+                loadFuture = CompletableFuture.supplyAsync(() -> {
+                    DropTable loaded = load(source);
+                    table = loaded;
+                    return loaded;
+                }, runnable -> {
+                    Thread thread = new Thread(runnable, "DropRegistry-load");
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    thread.start();
+                });
+            }
+            return loadFuture;
+        }
+    }
+
+    public boolean isLoaded() {
+        return table != null;
+    }
+
+    /** The loaded table, or null while it is still loading (or failed to load). */
+    public DropTable getTable() {
+        return table;
+    }
+
+    private static DropTable load(CardDataSource source) {
+        long start = System.nanoTime();
+        try {
+            DropTable loaded = DropTableReader.read(source.openDropTable());
+            FusionLog.d(TAG, "Loaded " + loaded.getSectionCount() + " drop sections from "
+                    + DropTableReader.ASSET_NAME + " in " + (System.nanoTime() - start) / 1000 + "us");
+            return loaded;
+        } catch (IOException | RuntimeException e) {
+            // A truncated or corrupt table can fail past the reader's checks; the text still works
+            FusionLog.w(TAG, "Drop table unavailable, falling back to the droplist", e);
+        }
+        try (Reader reader = new InputStreamReader(source.openDroplist(), StandardCharsets.UTF_8)) {
+            DropTable parsed = DropTable.parse(reader);
+            FusionLog.d(TAG, "Parsed " + parsed.getSectionCount() + " drop sections in " + (System.nanoTime() - start) / 1000 + "us");
+            return parsed;
+        } catch (IOException | RuntimeException e) {
+            FusionLog.e(TAG, "Error loading drop information", e);
+            throw new CompletionException(e);
+        }
+    }
+}
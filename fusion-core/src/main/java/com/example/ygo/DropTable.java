@@ -0,0 +1,208 @@
+package com.example.ygo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The droplist as flat arrays. A section is one opponent at one {@link DropDifficulty}; each
+ * section holds its drops sorted by card id, with rates as weights out of
+ * {@link #TOTAL_WEIGHT}. A second index lists, for each card, the sections that drop it.
+ * Instances are immutable and safe to share between threads.
+ */
+public class DropTable {
+    public static final int TOTAL_WEIGHT = 2048;
+
+    private final String[] opponentNames;
+    private final int[] sectionOpponent;
+    private final byte[] sectionDifficulty;
+    // Drops of section s are entries sectionStart[s] until sectionStart[s + 1]
+    private final int[] sectionStart;
+    private final short[] entryCard;
+    private final short[] entryRate;
+    // Sections dropping card c are cardStart[c] until cardStart[c + 1], in section order
+    private final int[] cardStart;
+    private final short[] cardSection;
+    private final short[] cardRate;
+
+    DropTable(String[] opponentNames, int[] sectionOpponent, byte[] sectionDifficulty,
+              int[] sectionStart, short[] entryCard, short[] entryRate) {
+        this.opponentNames = opponentNames;
+        this.sectionOpponent = sectionOpponent;
+        this.sectionDifficulty = sectionDifficulty;
+        this.sectionStart = sectionStart;
+        this.entryCard = entryCard;
+        this.entryRate = entryRate;
+
+        int maxCardId = 0;
+        for (short card : entryCard) {
+            maxCardId = Math.max(maxCardId, card);
+        }
+        cardStart = new int[maxCardId + 2];
+        for (short card : entryCard) {
+            cardStart[card + 1]++;
+        }
+        for (int card = 0; card <= maxCardId; card++) {
+            cardStart[card + 1] += cardStart[card];
+        }
+        cardSection = new short[entryCard.length];
+        cardRate = new short[entryCard.length];
+        int[] fill = Arrays.copyOf(cardStart, maxCardId + 1);
+        for (int section = 0; section < sectionOpponent.length; section++) {
+            for (int entry = sectionStart[section]; entry < sectionStart[section + 1]; entry++) {
+                int slot = fill[entryCard[entry]]++;
+                cardSection[slot] = (short) section;
+                cardRate[slot] = entryRate[entry];
+            }
+        }
+    }
+
+    /**
+     * Parses the droplist text: section headers, "Spoiler: name" opponent lines, then one
+     * "id name rate" line per drop. Other lines (totals, blank lines) are ignored, as are drops
+     * listed before any opponent.
+     */
+    public static DropTable parse(Reader source) throws IOException {
+        List<String> opponents = new ArrayList<>();
+        Map<String, Integer> opponentIds = new HashMap<>();
+        List<int[]> sections = new ArrayList<>(); // {opponent, difficulty}
+        List<int[]> sectionDrops = new ArrayList<>(); // flat {card, rate} pairs
+        DropDifficulty difficulty = DropDifficulty.SA_POW;
+        int[] drops = null;
+        int dropCount = 0;
+
+        BufferedReader reader = new BufferedReader(source);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty()) continue;
+
+            DropDifficulty header = DropDifficulty.fromHeader(line);
+            if (header != null) {
+                difficulty = header;
+            } else if (line.startsWith("Spoiler:")) {
+                if (drops != null) sectionDrops.add(Arrays.copyOf(drops, dropCount));
+                String name = line.substring(8).trim();
+                Integer opponent = opponentIds.get(name);
+                if (opponent == null) {
+                    opponent = opponents.size();
+                    opponents.add(name);
+                    opponentIds.put(name, opponent);
+                }
+                sections.add(new int[]{opponent, difficulty.ordinal()});
+                drops = new int[64];
+                dropCount = 0;
+            } else if (drops != null && Character.isDigit(line.charAt(0))) {
+                // Card names contain spaces, so the id is the first token and the rate the last
+                int firstSpace = line.indexOf(' ');
+                int lastSpace = line.lastIndexOf(' ');
+                if (firstSpace < 0) continue;
+                try {
+                    int card = Integer.parseInt(line.substring(0, firstSpace));
+                    int rate = Integer.parseInt(line.substring(lastSpace + 1));
+                    if (card <= 0 || card > Short.MAX_VALUE || rate <= 0 || rate > TOTAL_WEIGHT) continue;
+                    if (dropCount + 2 > drops.length) drops = Arrays.copyOf(drops, drops.length * 2);
+                    drops[dropCount++] = card;
+                    drops[dropCount++] = rate;
+                } catch (NumberFormatException e) {
+                    // Skip malformed lines
+                }
+            }
+        }
+        if (drops != null) sectionDrops.add(Arrays.copyOf(drops, dropCount));
+
+        // Sort each section by card id; (card << 32 | index) keys keep the order drops were listed
+        // in. Some sections list their drops twice, so repeated cards keep only their first rate.
+        int sectionCount = sections.size();
+        long[][] sortedDrops = new long[sectionCount][];
+        int[] sectionStart = new int[sectionCount + 1];
+        for (int s = 0; s < sectionCount; s++) {
+            int[] pairs = sectionDrops.get(s);
+            long[] keys = new long[pairs.length / 2];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = ((long) pairs[i * 2] << 32) | i;
+            }
+            Arrays.sort(keys);
+            int unique = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (unique == 0 || keys[unique - 1] >>> 32 != keys[i] >>> 32) keys[unique++] = keys[i];
+            }
+            sortedDrops[s] = Arrays.copyOf(keys, unique);
+            sectionStart[s + 1] = sectionStart[s] + unique;
+        }
+
+        int[] sectionOpponent = new int[sectionCount];
+        byte[] sectionDifficulty = new byte[sectionCount];
+        short[] entryCard = new short[sectionStart[sectionCount]];
+        short[] entryRate = new short[entryCard.length];
+        for (int s = 0; s < sectionCount; s++) {
+            sectionOpponent[s] = sections.get(s)[0];
+            sectionDifficulty[s] = (byte) sections.get(s)[1];
+            int[] pairs = sectionDrops.get(s);
+            long[] keys = sortedDrops[s];
+            for (int i = 0; i < keys.length; i++) {
+                int index = (int) keys[i];
+                entryCard[sectionStart[s] + i] = (short) pairs[index * 2];
+                entryRate[sectionStart[s] + i] = (short) pairs[index * 2 + 1];
+            }
+        }
+        return new DropTable(opponents.toArray(new String[0]), sectionOpponent, sectionDifficulty,
+                sectionStart, entryCard, entryRate);
+    }
+
+    public int getSectionCount() {
+        return sectionOpponent.length;
+    }
+
+    public int getOpponentCount() {
+        return opponentNames.length;
+    }
+
+    public String getOpponentName(int opponent) {
+        return opponentNames[opponent];
+    }
+
+    public int getSectionOpponent(int section) {
+        return sectionOpponent[section];
+    }
+
+    public DropDifficulty getSectionDifficulty(int section) {
+        return DropDifficulty.values()[sectionDifficulty[section]];
+    }
+
+    public int getSectionDropCount(int section) {
+        return sectionStart[section + 1] - sectionStart[section];
+    }
+
+    public int getSectionCard(int section, int index) {
+        return entryCard[sectionStart[section] + index];
+    }
+
+    public int getSectionRate(int section, int index) {
+        return entryRate[sectionStart[section] + index];
+    }
+
+    /** Weight out of {@link #TOTAL_WEIGHT} of a card in a section, 0 if it is not dropped there. */
+    public int getRate(int section, int cardId) {
+        int found = Arrays.binarySearch(entryCard, sectionStart[section], sectionStart[section + 1], (short) cardId);
+        return cardId > 0 && cardId <= Short.MAX_VALUE && found >= 0 ? entryRate[found] : 0;
+    }
+
+    /** Number of sections that drop a card. */
+    public int getDropCount(int cardId) {
+        return cardId > 0 && cardId < cardStart.length - 1 ? cardStart[cardId + 1] - cardStart[cardId] : 0;
+    }
+
+    public int getDropSection(int cardId, int index) {
+        return cardSection[cardStart[cardId] + index];
+    }
+
+    public int getDropRate(int cardId, int index) {
+        return cardRate[cardStart[cardId] + index];
+    }
+}
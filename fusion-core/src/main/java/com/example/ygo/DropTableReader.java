@@ -0,0 +1,84 @@
+package com.example.ygo;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the binary drop table (drops.bin) produced at build time by the compileDropTable task
+ * in app/card-data.gradle. See that script for the layout.
+ */
+public class DropTableReader {
+    public static final String ASSET_NAME = "drops.bin";
+    public static final int MAGIC = 0x59474644; // "YGFD"
+    public static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 20;
+    private static final int OPPONENT_RECORD_SIZE = 6;
+    private static final int SECTION_RECORD_SIZE = 6;
+    private static final int ENTRY_RECORD_SIZE = 4;
+
+    public static DropTable read(ByteBuffer buffer) throws IOException {
+        ByteBuffer in = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        if (in.remaining() < HEADER_SIZE || in.getInt() != MAGIC) {
+            throw new IOException("Not a drop table");
+        }
+        int version = in.getShort() & 0xFFFF;
+        if (version != VERSION) {
+            throw new IOException("Unsupported drop table version " + version);
+        }
+        int opponentCount = in.getShort() & 0xFFFF;
+        int sectionCount = in.getShort() & 0xFFFF;
+        in.getShort(); // reserved
+        int entryCount = in.getInt();
+        int stringBytes = in.getInt();
+
+        long expected = HEADER_SIZE + (long) opponentCount * OPPONENT_RECORD_SIZE + stringBytes
+                + (long) sectionCount * SECTION_RECORD_SIZE + (long) entryCount * ENTRY_RECORD_SIZE;
+        if (entryCount < 0 || stringBytes < 0 || buffer.remaining() < expected) {
+            throw new IOException("Truncated drop table");
+        }
+
+        int opponentsStart = in.position();
+        byte[] strings = new byte[stringBytes];
+        in.position(opponentsStart + opponentCount * OPPONENT_RECORD_SIZE);
+        in.get(strings);
+        int sectionsStart = in.position();
+
+        in.position(opponentsStart);
+        String[] opponentNames = new String[opponentCount];
+        for (int i = 0; i < opponentCount; i++) {
+            int nameOffset = in.getInt();
+            int nameLength = in.getShort() & 0xFFFF;
+            opponentNames[i] = new String(strings, nameOffset, nameLength, StandardCharsets.UTF_8);
+        }
+
+        in.position(sectionsStart);
+        int[] sectionOpponent = new int[sectionCount];
+        byte[] sectionDifficulty = new byte[sectionCount];
+        int[] sectionStart = new int[sectionCount + 1];
+        for (int s = 0; s < sectionCount; s++) {
+            sectionOpponent[s] = in.getShort() & 0xFFFF;
+            sectionDifficulty[s] = in.get();
+            in.get(); // reserved
+            sectionStart[s + 1] = sectionStart[s] + (in.getShort() & 0xFFFF);
+            if (sectionOpponent[s] >= opponentCount || sectionDifficulty[s] < 0
+                    || sectionDifficulty[s] >= DropDifficulty.values().length) {
+                throw new IOException("Corrupt drop table section " + s);
+            }
+        }
+        if (sectionStart[sectionCount] != entryCount) {
+            throw new IOException("Drop table section sizes do not add up");
+        }
+
+        // Entries are already in section order, sorted by card id within each section
+        short[] entryCard = new short[entryCount];
+        short[] entryRate = new short[entryCount];
+        for (int i = 0; i < entryCount; i++) {
+            entryCard[i] = in.getShort();
+            entryRate[i] = in.getShort();
+        }
+        return new DropTable(opponentNames, sectionOpponent, sectionDifficulty, sectionStart, entryCard, entryRate);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.ygo;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Card data from plain files, for running the engine on a desktop JVM. Any file may be null
+ * or missing; the binary tables are memory-mapped.
+ */
+public class FileCardDataSource implements CardDataSource {
+    private final File cardTable;
+    private final File cardsJson;
+    private final File dropTable;
+    private final File droplist;
+
+    public FileCardDataSource(File cardTable, File cardsJson) {
+        this(cardTable, cardsJson, null, null);
+    }
+
+    public FileCardDataSource(File cardTable, File cardsJson, File dropTable, File droplist) {
+        this.cardTable = cardTable;
+        this.cardsJson = cardsJson;
+        this.dropTable = dropTable;
+        this.droplist = droplist;
+    }
+
+    @Override
+    public ByteBuffer openCardTable() throws IOException {
+        return map(cardTable, "card table");
+    }
+
+    @Override
+    public InputStream openCardsJson() throws IOException {
+        if (cardsJson == null) {
+            throw new FileNotFoundException("No Cards.json configured");
+        }
+        return new FileInputStream(cardsJson);
+    }
+
+    @Override
+    public ByteBuffer openDropTable() throws IOException {
+        return map(dropTable, "drop table");
+    }
+
+    @Override
+    public InputStream openDroplist() throws IOException {
+        if (droplist == null) {
+            throw new FileNotFoundException("No droplist configured");
+        }
+        return new FileInputStream(droplist);
+    }
+
+    private static ByteBuffer map(File source, String description) throws IOException {
+        if (source == null || !source.isFile()) {
+            throw new FileNotFoundException("No " + description + " at " + source);
+        }
+        try (RandomAccessFile file = new RandomAccessFile(source, "r")) {
+            // The mapping stays valid after the channel is closed
+            return file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.ygo;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Evaluates many hand/field states in one call, for simulations that need millions of hands.
+ *
+ * States are flat int arrays of card ids, one fixed-size row per state, with 0 (or any id
+ * without fusions) for empty slots. Each state is searched with the same rules as
+ * {@link FusionEngine#findPossibleFusions(java.util.List, java.util.List)}: hand pairs, field +
+ * hand pairs, and either of those fused with one more hand card. Nothing is allocated per state;
+ * an evaluator reuses its scratch buffers, so use one evaluator per thread.
+ */
+public class FusionBatchEvaluator {
+    // States per fork-join leaf in evaluateParallel
+    private static final int PARALLEL_CHUNK = 2048;
+
+    private final FusionIndex index;
+    private final int[] attackById;
+
+    // Scratch buffers, reused for every state
+    private final int[] handCards;
+    private final int[] fieldCards;
+    private final int[] seenStamp;
+    private int stamp;
+
+    // Running summary of the current state
+    private int bestResult;
+    private int bestAttack;
+    private int bestCards;
+    private int bestHandMask;
+    private int resultCount;
+
+    public FusionBatchEvaluator(FusionIndex index, int[] attackById) {
+        this.index = index;
+        this.attackById = attackById;
+        this.handCards = new int[64];
+        this.fieldCards = new int[64];
+        this.seenStamp = new int[index.getMaxCardId() + 1];
+    }
+
+    /**
+     * Per-state results: the best (highest attack) result card, its attack, the fewest cards
+     * needed to make it, and the number of distinct result cards. States without any fusion have
+     * bestResult {@link FusionIndex#NO_FUSION} and zeros elsewhere.
+     */
+    public static class Summaries {
+        public final int[] bestResult;
+        public final int[] bestAttack;
+        public final int[] minCardsUsed;
+        public final int[] resultCount;
+
+        public Summaries(int capacity) {
+            bestResult = new int[capacity];
+            bestAttack = new int[capacity];
+            minCardsUsed = new int[capacity];
+            resultCount = new int[capacity];
+        }
+
+        public int capacity() {
+            return bestResult.length;
+        }
+    }
+
+    /**
+     * Evaluates states [from, to). Hands are rows of handStride ids; fields may be null or
+     * rows of fieldStride ids.
+     */
+    public void evaluate(int[] hands, int handStride, int[] fields, int fieldStride,
+                         int from, int to, Summaries out) {
+        for (int state = from; state < to; state++) {
+            evaluateState(hands, state * handStride, handStride,
+                    fields, fields != null ? state * fieldStride : 0, fields != null ? fieldStride : 0);
+            out.bestResult[state] = bestResult;
+            out.bestAttack[state] = bestAttack;
+            out.minCardsUsed[state] = bestCards;
+            out.resultCount[state] = resultCount;
+        }
+    }
+
+    /**
+     * Evaluates one hand without field cards and returns its best result, or
+     * {@link FusionIndex#NO_FUSION}. Details of that play stay available from the getters below
+     * until the next evaluation.
+     */
+    public int evaluateHand(int[] hand, int count) {
+        evaluateState(hand, 0, count, null, 0, 0);
+        return bestResult;
+    }
+
+    public int getBestAttack() {
+        return bestAttack;
+    }
+
+    public int getBestCardsUsed() {
+        return bestCards;
+    }
+
+    // Hand cards used by the best play, one bit per position among the non-empty hand cards
+    // (hands of up to 32 cards)
+    public int getBestHandMask() {
+        return bestHandMask;
+    }
+
+    public int getResultCount() {
+        return resultCount;
+    }
+
+    /**
+     * Evaluates all states on the given pool, one evaluator per chunk of states. The output
+     * does not depend on how the work is split.
+     */
+    public static void evaluateParallel(ForkJoinPool pool, FusionIndex index, int[] attackById,
+                                        int[] hands, int handStride, int[] fields, int fieldStride,
+                                        int stateCount, Summaries out) {
+        pool.invoke(new ChunkTask(index, attackById, hands, handStride, fields, fieldStride, 0, stateCount, out));
+    }
+
+    @SuppressWarnings("serial") // Never serialized
+    private static class ChunkTask extends RecursiveAction {
+        private final FusionIndex index;
+        private final int[] attackById;
+        private final int[] hands;
+        private final int handStride;
+        private final int[] fields;
+        private final int fieldStride;
+        private final int from;
+        private final int to;
+        private final Summaries out;
+
+        ChunkTask(FusionIndex index, int[] attackById, int[] hands, int handStride, int[] fields, int fieldStride,
+                  int from, int to, Summaries out) {
+            this.index = index;
+            this.attackById = attackById;
+            this.hands = hands;
+            this.handStride = handStride;
+            this.fields = fields;
+            this.fieldStride = fieldStride;
+            this.from = from;
+            this.to = to;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_CHUNK) {
+                new FusionBatchEvaluator(index, attackById).evaluate(hands, handStride, fields, fieldStride, from, to, out);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkTask(index, attackById, hands, handStride, fields, fieldStride, from, middle, out),
+                    new ChunkTask(index, attackById, hands, handStride, fields, fieldStride, middle, to, out));
+        }
+    }
+
+    private void evaluateState(int[] hands, int handOffset, int handStride,
+                               int[] fields, int fieldOffset, int fieldStride) {
+        int handCount = compact(hands, handOffset, handStride, handCards);
+        int fieldCount = compact(fields, fieldOffset, fieldStride, fieldCards);
+
+        bestResult = FusionIndex.NO_FUSION;
+        bestAttack = 0;
+        bestCards = 0;
+        bestHandMask = 0;
+        resultCount = 0;
+        if (++stamp == 0) {
+            // Stamp wrapped around, so old marks could look current
+            Arrays.fill(seenStamp, 0);
+            stamp = 1;
+        }
+
+        for (int i = 0; i < handCount; i++) {
+            for (int j = i + 1; j < handCount; j++) {
+                int result = index.lookup(handCards[i], handCards[j]);
+                if (result == FusionIndex.NO_FUSION) continue;
+                int pair = (1 << i) | (1 << j);
+                record(result, 2, pair);
+                for (int k = 0; k < handCount; k++) {
+                    if (k == i || k == j) continue;
+                    record(index.lookup(result, handCards[k]), 3, pair | (1 << k));
+                }
+            }
+        }
+        for (int f = 0; f < fieldCount; f++) {
+            for (int h = 0; h < handCount; h++) {
+                int result = index.lookup(fieldCards[f], handCards[h]);
+                if (result == FusionIndex.NO_FUSION) continue;
+                record(result, 2, 1 << h);
+                for (int k = 0; k < handCount; k++) {
+                    if (k == h) continue;
+                    record(index.lookup(result, handCards[k]), 3, (1 << h) | (1 << k));
+                }
+            }
+        }
+    }
+
+    // Copies the non-empty ids of one row into dest and returns how many there were
+    private static int compact(int[] source, int offset, int stride, int[] dest) {
+        int count = 0;
+        for (int i = 0; i < stride && count < dest.length; i++) {
+            int card = source[offset + i];
+            if (card > 0) dest[count++] = card;
+        }
+        return count;
+    }
+
+    private void record(int result, int cards, int handMask) {
+        if (result == FusionIndex.NO_FUSION || result >= seenStamp.length) return;
+        if (seenStamp[result] != stamp) {
+            seenStamp[result] = stamp;
+            resultCount++;
+        }
+        int attack = result < attackById.length ? attackById[result] : 0;
+        if (bestResult == FusionIndex.NO_FUSION || attack > bestAttack
+                || (attack == bestAttack && (cards < bestCards || (cards == bestCards && result < bestResult)))) {
+            bestResult = result;
+            bestAttack = attack;
+            bestCards = cards;
+            bestHandMask = handMask;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.ygo;
+
+/**
+ * A fusion chain of any length: materials are fused left to right, each intermediate result
+ * fusing with the next material, and the last fusion produces {@link #getResult()}.
+ */
+public class FusionChain {
+    private final Card result;
+    private final Card[] materials;
+    private final int[] positions;
+    private final boolean[] fromField;
+
+    public FusionChain(Card result, Card[] materials, int[] positions, boolean[] fromField) {
+        this.result = result;
+        this.materials = materials;
+        this.positions = positions;
+        this.fromField = fromField;
+    }
+
+    public Card getResult() { return result; }
+    public int getMaterialCount() { return materials.length; }
+
+    // Materials in chain order, with their hand or field slot position
+    public Card getMaterial(int i) { return materials[i]; }
+    public int getPosition(int i) { return positions[i]; }
+    public boolean isFromField(int i) { return fromField[i]; }
+
+    public int getFieldCardCount() {
+        int count = 0;
+        for (boolean field : fromField) {
+            if (field) count++;
+        }
+        return count;
+    }
+
+    public String getFormula() {
+        StringBuilder formula = new StringBuilder();
+        for (int i = 0; i < materials.length; i++) {
+            if (i > 0) formula.append(" + ");
+            formula.append(materials[i].getName());
+            if (fromField[i]) formula.append(" (Field)");
+        }
+        return formula.append(" = ").append(result.getName()).toString();
+    }
+
+    @Override
+    public String toString() {
+        return getFormula();
+    }
+}
@@ -0,0 +1,343 @@
+package com.example.ygo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Enumerates every card reachable by fusing any subset of the given slots, in any order.
+ *
+ * The search runs breadth-first over states (used-slot bitmask, current card). A state is only
+ * expanded once no matter how many orders lead to it, which is what keeps the subset DP
+ * tractable. Slots holding the same card are interchangeable, so a copy may only be used once
+ * all lower slots with that card are used.
+ *
+ * For each result the witness is the shortest chain, and among those the lexicographically
+ * smallest slot sequence. That definition does not depend on traversal details, so searches
+ * split by first slot can be merged into exactly the same answer, which is what
+ * {@link #runParallel(ForkJoinPool)} does.
+ *
+ * The number of states is capped by a budget shared by every task of a run, so a parallel
+ * search uses no more memory than a sequential one; a run that hits it is reported as
+ * {@link #isTruncated() truncated}.
+ */
+class FusionChainEnumerator {
+    static final int MAX_SLOTS = 30;
+    static final int MAX_STATES = 1 << 20;
+    // Upper estimate of the heap one state costs: 11 bytes of state arrays, up to two 12-byte
+    // hash table entries, and the copies made while either grows
+    static final int BYTES_PER_STATE = 64;
+    // States a task takes from the shared budget at a time, to keep the counter uncontended
+    private static final int BUDGET_CHUNK = 1024;
+
+    private final FusionIndex index;
+    private final int[] slotCards;
+    private final int slotCount;
+    private final int maxMaterials;
+    private final int[] lowerTwins;
+    private final int stateLimit;
+
+    // State storage, indexed by state number (BFS order)
+    private int[] stateMask;
+    private short[] stateCard;
+    private int[] stateParent;
+    private byte[] stateSlot;
+    private int stateCount;
+
+    // Open-addressing set of visited (mask, card) keys -> state number
+    private long[] tableKeys;
+    private int[] tableStates;
+    private int tableSize;
+
+    // States this run may still create: a local reserve drawn from the run's shared budget
+    private AtomicInteger budget;
+    private int reserved;
+
+    private boolean truncated;
+
+    FusionChainEnumerator(FusionIndex index, int[] slotCards, int maxMaterials) {
+        this(index, slotCards, maxMaterials, defaultStateLimit());
+    }
+
+    FusionChainEnumerator(FusionIndex index, int[] slotCards, int maxMaterials, int stateLimit) {
+        if (slotCards.length > MAX_SLOTS) {
+            throw new IllegalArgumentException("At most " + MAX_SLOTS + " slots are supported");
+        }
+        this.index = index;
+        this.slotCards = slotCards;
+        this.slotCount = slotCards.length;
+        this.maxMaterials = Math.max(2, Math.min(maxMaterials, slotCount));
+        this.stateLimit = stateLimit;
+
+        lowerTwins = new int[slotCount];
+        for (int s = 0; s < slotCount; s++) {
+            for (int t = 0; t < s; t++) {
+                if (slotCards[t] == slotCards[s]) {
+                    lowerTwins[s] |= 1 << t;
+                }
+            }
+        }
+    }
+
+    /** States a run may create: {@link #MAX_STATES}, or less when an eighth of the heap is less. */
+    static int defaultStateLimit() {
+        return (int) Math.min(MAX_STATES, Runtime.getRuntime().maxMemory() / 8 / BYTES_PER_STATE);
+    }
+
+    /**
+     * Runs the search. With firstSlot >= 0 only chains starting at that slot are considered.
+     */
+    List<Reach> run(int firstSlot) {
+        return run(firstSlot, new AtomicInteger(stateLimit));
+    }
+
+    private List<Reach> run(int firstSlot, AtomicInteger stateBudget) {
+        reset(stateBudget);
+        int maxCardId = index.getMaxCardId();
+        int[] bestState = new int[maxCardId + 1];
+        Arrays.fill(bestState, -1);
+
+        for (int s = 0; s < slotCount; s++) {
+            if (firstSlot >= 0 && s != firstSlot) continue;
+            if (lowerTwins[s] != 0) continue; // an identical lower slot starts the same chains
+            addState(1 << s, slotCards[s], -1, s);
+        }
+
+        // States are appended in BFS order, so a plain scan processes them layer by layer
+        for (int state = 0; state < stateCount; state++) {
+            int mask = stateMask[state];
+            if (Integer.bitCount(mask) >= maxMaterials) continue;
+            int card = stateCard[state];
+
+            for (int s = 0; s < slotCount; s++) {
+                int bit = 1 << s;
+                if ((mask & bit) != 0) continue;
+                if ((lowerTwins[s] & ~mask) != 0) continue;
+
+                int result = index.lookup(card, slotCards[s]);
+                if (result == FusionIndex.NO_FUSION) continue;
+
+                int next = addState(mask | bit, result, state, s);
+                if (next < 0) {
+                    if (truncated) break;
+                    continue;
+                }
+                if (result <= maxCardId && bestState[result] < 0) {
+                    bestState[result] = next;
+                }
+            }
+            if (truncated) break;
+        }
+
+        List<Reach> reaches = new ArrayList<>();
+        for (int result = 0; result <= maxCardId; result++) {
+            if (bestState[result] >= 0) {
+                reaches.add(new Reach(result, witness(bestState[result])));
+            }
+        }
+        return reaches;
+    }
+
+    /**
+     * Same results as run(-1), with one fork-join task per distinct first slot. Each task owns
+     * its own state storage but all of them draw on one state budget; the per-result witnesses
+     * are merged with {@link Reach#isBetterThan} so the output does not depend on scheduling.
+     */
+    List<Reach> runParallel(ForkJoinPool pool) {
+        AtomicBoolean anyTruncated = new AtomicBoolean();
+        AtomicInteger stateBudget = new AtomicInteger(stateLimit);
+        List<Reach> reaches = pool.invoke(new FirstSlotTask(0, slotCount, stateBudget, anyTruncated));
+        truncated = anyTruncated.get();
+        return reaches;
+    }
+
+    @SuppressWarnings("serial") // Never serialized
+    private class FirstSlotTask extends RecursiveTask<List<Reach>> {
+        private final int from;
+        private final int to;
+        private final AtomicInteger stateBudget;
+        private final AtomicBoolean anyTruncated;
+
+        FirstSlotTask(int from, int to, AtomicInteger stateBudget, AtomicBoolean anyTruncated) {
+            this.from = from;
+            this.to = to;
+            this.stateBudget = stateBudget;
+            this.anyTruncated = anyTruncated;
+        }
+
+        @Override
+        protected List<Reach> compute() {
+            if (to - from <= 1) {
+                if (from == to || lowerTwins[from] != 0) return new ArrayList<>();
+                FusionChainEnumerator enumerator = new FusionChainEnumerator(index, slotCards, maxMaterials, stateLimit);
+                List<Reach> reaches = enumerator.run(from, stateBudget);
+                if (enumerator.isTruncated()) anyTruncated.set(true);
+                return reaches;
+            }
+            int middle = (from + to) >>> 1;
+            FirstSlotTask right = new FirstSlotTask(middle, to, stateBudget, anyTruncated);
+            right.fork();
+            List<Reach> left = new FirstSlotTask(from, middle, stateBudget, anyTruncated).compute();
+            return merge(left, right.join());
+        }
+    }
+
+    // Both lists are sorted by result id, as run() returns them
+    private static List<Reach> merge(List<Reach> left, List<Reach> right) {
+        List<Reach> merged = new ArrayList<>(left.size() + right.size());
+        int i = 0;
+        int j = 0;
+        while (i < left.size() || j < right.size()) {
+            if (j == right.size()) {
+                merged.add(left.get(i++));
+            } else if (i == left.size()) {
+                merged.add(right.get(j++));
+            } else {
+                Reach a = left.get(i);
+                Reach b = right.get(j);
+                if (a.resultId < b.resultId) {
+                    merged.add(a);
+                    i++;
+                } else if (b.resultId < a.resultId) {
+                    merged.add(b);
+                    j++;
+                } else {
+                    merged.add(b.isBetterThan(a) ? b : a);
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return merged;
+    }
+
+    boolean isTruncated() {
+        return truncated;
+    }
+
+    int getStateCount() {
+        return stateCount;
+    }
+
+    private void reset(AtomicInteger stateBudget) {
+        int capacity = 1024;
+        stateMask = new int[capacity];
+        stateCard = new short[capacity];
+        stateParent = new int[capacity];
+        stateSlot = new byte[capacity];
+        stateCount = 0;
+        tableSize = 2048;
+        tableKeys = new long[tableSize];
+        tableStates = new int[tableSize];
+        budget = stateBudget;
+        reserved = 0;
+        truncated = false;
+    }
+
+    // Takes one state from the budget, refilling the local reserve a chunk at a time
+    private boolean reserveState() {
+        if (reserved == 0) {
+            int left = budget.getAndAdd(-BUDGET_CHUNK);
+            if (left <= 0) return false;
+            reserved = Math.min(left, BUDGET_CHUNK);
+        }
+        reserved--;
+        return true;
+    }
+
+    // Returns the new state number, or -1 if the state was already visited (or the cap was hit)
+    private int addState(int mask, int card, int parent, int slot) {
+        long key = (((long) mask) << 16 | card) + 1; // 0 marks an empty table slot
+        int bucket = hash(key) & (tableSize - 1);
+        while (tableKeys[bucket] != 0) {
+            if (tableKeys[bucket] == key) return -1;
+            bucket = (bucket + 1) & (tableSize - 1);
+        }
+        if (!reserveState()) {
+            truncated = true;
+            return -1;
+        }
+
+        if (stateCount == stateMask.length) {
+            int capacity = stateCount * 2;
+            stateMask = Arrays.copyOf(stateMask, capacity);
+            stateCard = Arrays.copyOf(stateCard, capacity);
+            stateParent = Arrays.copyOf(stateParent, capacity);
+            stateSlot = Arrays.copyOf(stateSlot, capacity);
+        }
+        int state = stateCount++;
+        stateMask[state] = mask;
+        stateCard[state] = (short) card;
+        stateParent[state] = parent;
+        stateSlot[state] = (byte) slot;
+
+        tableKeys[bucket] = key;
+        tableStates[bucket] = state;
+        if (stateCount * 2 > tableSize) {
+            growTable();
+        }
+        return state;
+    }
+
+    private void growTable() {
+        long[] oldKeys = tableKeys;
+        int[] oldStates = tableStates;
+        tableSize *= 2;
+        tableKeys = new long[tableSize];
+        tableStates = new int[tableSize];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == 0) continue;
+            int bucket = hash(oldKeys[i]) & (tableSize - 1);
+            while (tableKeys[bucket] != 0) {
+                bucket = (bucket + 1) & (tableSize - 1);
+            }
+            tableKeys[bucket] = oldKeys[i];
+            tableStates[bucket] = oldStates[i];
+        }
+    }
+
+    private static int hash(long key) {
+        key *= 0x9E3779B97F4A7C15L;
+        return (int) (key ^ (key >>> 32));
+    }
+
+    private int[] witness(int state) {
+        int length = Integer.bitCount(stateMask[state]);
+        int[] slots = new int[length];
+        for (int i = length - 1; i >= 0; i--) {
+            slots[i] = stateSlot[state];
+            state = stateParent[state];
+        }
+        return slots;
+    }
+
+    /**
+     * A reachable result card together with its witness chain (slot numbers in fusion order).
+     */
+    static class Reach {
+        final int resultId;
+        final int[] slots;
+
+        Reach(int resultId, int[] slots) {
+            this.resultId = resultId;
+            this.slots = slots;
+        }
+
+        // Shorter chains win, then the lexicographically smaller slot sequence
+        boolean isBetterThan(Reach other) {
+            if (slots.length != other.slots.length) {
+                return slots.length < other.slots.length;
+            }
+            for (int i = 0; i < slots.length; i++) {
+                if (slots[i] != other.slots[i]) {
+                    return slots[i] < other.slots[i];
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,866 @@
+package com.example.ygo;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+
+public class FusionEngine {
+    private static final String TAG = "FusionEngine";
+    private static volatile FusionEngine instance;
+    private List<Card> allCards;
+    private Map<String, Integer> cardNameToId;
+    private FusionIndex fusionIndex;
+    private FusionRecipeIndex recipeIndex;
+    private CardRegistry cardRegistry;
+    private CardNameIndex nameIndex;
+    private CardNameBkTree fuzzyNameIndex;
+    private FusionPlanner fusionPlanner;
+    private int[] attackById = new int[0];
+    
+    // Typos tolerated by searchCardsFuzzy
+    public static final int FUZZY_MAX_DISTANCE = 2;
+    
+    // Chain searches that outgrow this many states on one thread are redone across the search
+    // pool. Splitting by first slot repeats the states the first slots share (about twice the
+    // work on 20 slots), so only searches well past the typical size are worth it
+    private static final int PARALLEL_MIN_STATES = 1 << 16;
+    private volatile boolean parallelSearchEnabled = true;
+    private ForkJoinPool searchPool;
+    
+    // Tables are replaced as a whole on the loader thread and published through isLoaded
+    private volatile boolean isLoaded = false;
+    private final Object loadLock = new Object();
+    private CompletableFuture<FusionEngine> loadFuture;
+
+    // The app shares one engine through getInstance(); benchmarks create fresh ones to measure loading
+    FusionEngine() {
+        allCards = new ArrayList<>();
+        cardNameToId = new HashMap<>();
+        cardRegistry = new CardRegistry(allCards);
+        nameIndex = new CardNameIndex(allCards);
+        fuzzyNameIndex = new CardNameBkTree(allCards);
+    }
+
+    public static FusionEngine getInstance() {
+        FusionEngine engine = instance;
+        if (engine == null) {
+            synchronized (FusionEngine.class) {
+                engine = instance;
+                if (engine == null) {
+                    engine = new FusionEngine();
+                    instance = engine;
+                }
+            }
+        }
+        return engine;
+    }
+
+    /**
+     * Starts loading the card data on a background thread. Safe to call from any thread and
+     * any number of times; every caller gets the same future, which completes once the engine
+     * is ready (or exceptionally if the data could not be loaded). Once a load has failed, the
+     * next call starts a new one.
+     */
+    public CompletableFuture<FusionEngine> loadAsync(CardDataSource source) {
+        synchronized (loadLock) {
+            // A failed load is not cached; checked here rather than reset from a completion
+            // callback, which might not have run yet when the caller retries
+            if (loadFuture == null || loadFuture.isCompletedExceptionally()) {
+                loadFuture = CompletableFuture.supplyAsync(() -> {
+                    loadDataInternal(source);
+                    return this;
+                }, runnable -> {
+                    Thread thread = new Thread(runnable, "FusionEngine-load");
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    thread.start();
+                });
+            }
+            return loadFuture;
+        }
+    }
+
+    /**
+     * Loads the card data and blocks until it is available. Prefer
+     * {@link #loadAsync(CardDataSource)} on the UI thread.
+     */
+    public void loadData(CardDataSource source) {
+        try {
+            loadAsync(source).join();
+        } catch (CompletionException e) {
+            FusionLog.e(TAG, "Error loading data", e.getCause());
+        }
+    }
+
+    public boolean isLoaded() {
+        return isLoaded;
+    }
+
+    private void loadDataInternal(CardDataSource source) {
+        try {
+            CardDataBuilder data = new CardDataBuilder();
+            if (!loadCardTable(source, data)) {
+                data = new CardDataBuilder();
+                loadCardsFromJson(source, data);
+            }
+            installCardData(data);
+            isLoaded = true;
+            FusionLog.d(TAG, "Data loaded successfully. Cards: " + allCards.size() + ", Fusion pairs: " + fusionIndex.getPairCount());
+        } catch (IOException | RuntimeException e) {
+            FusionLog.e(TAG, "Error loading data", e);
+            throw new CompletionException(e);
+        }
+    }
+
+    // Loads the build-time compiled card table. Returns false if it is missing or unreadable,
+    // in which case the caller falls back to Cards.json.
+    private boolean loadCardTable(CardDataSource source, CardDataBuilder data) {
+        try {
+            CardTableReader.read(source.openCardTable(), data);
+            FusionLog.d(TAG, "Loaded " + data.getCards().size() + " cards from " + CardTableReader.ASSET_NAME);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            // A corrupt table can fail past the reader's checks; the caller starts over from JSON
+            FusionLog.w(TAG, "Card table unavailable, falling back to Cards.json", e);
+            return false;
+        }
+    }
+
+    // Streams Cards.json in a single pass. Only the fields the engine uses are materialised;
+    // everything else (descriptions, card codes, ...) is skipped without building strings.
+    private void loadCardsFromJson(CardDataSource source, CardDataBuilder data) throws IOException {
+        try (Reader reader = new InputStreamReader(source.openCardsJson(), StandardCharsets.UTF_8)) {
+            readCardsJson(reader, data);
+        }
+        FusionLog.d(TAG, "Loaded " + data.getCards().size() + " cards from Cards.json");
+    }
+
+    // Also used by tests to check cards.bin against the JSON it was compiled from
+    static void readCardsJson(Reader source, CardDataBuilder data) throws IOException {
+        JsonPullReader reader = new JsonPullReader(source);
+        reader.beginArray();
+        while (reader.hasNext()) {
+            readCard(reader, data);
+        }
+        reader.endArray();
+    }
+
+    private static void readCard(JsonPullReader reader, CardDataBuilder data) throws IOException {
+        int id = -1;
+        String name = null;
+        int type = 0;
+        int attack = 0;
+        
+        // Fusions may appear before "Id", so buffer them in flat triples until the card is complete
+        int fusionCount = 0;
+        int[] fusions = new int[96];
+        
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+            if (field.equals("Id")) {
+                id = reader.nextInt();
+            } else if (field.equals("Name")) {
+                name = reader.nextString();
+            } else if (field.equals("Type")) {
+                type = reader.nextInt();
+            } else if (field.equals("Attack")) {
+                attack = reader.nextInt();
+            } else if (field.equals("Fusions") && reader.peek() == JsonPullReader.Token.BEGIN_ARRAY) {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    if (fusionCount + 3 > fusions.length) {
+                        fusions = Arrays.copyOf(fusions, fusions.length * 2);
+                    }
+                    readFusion(reader, fusions, fusionCount);
+                    fusionCount += 3;
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        
+        if (id < 0 || name == null) {
+            FusionLog.w(TAG, "Skipping card entry without id or name");
+            return;
+        }
+        data.addCard(id, name, type, attack);
+        
+        for (int i = 0; i < fusionCount; i += 3) {
+            // Only add if this card is card1 (to avoid duplicates)
+            if (fusions[i] == id) {
+                data.addFusion(fusions[i], fusions[i + 1], fusions[i + 2]);
+            }
+        }
+    }
+
+    private static void readFusion(JsonPullReader reader, int[] fusions, int offset) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String field = reader.nextName();
+            if (field.equals("_card1")) {
+                fusions[offset] = reader.nextInt();
+            } else if (field.equals("_card2")) {
+                fusions[offset + 1] = reader.nextInt();
+            } else if (field.equals("_result")) {
+                fusions[offset + 2] = reader.nextInt();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+    }
+
+    // Builds the lookup tables from freshly loaded card data
+    private void installCardData(CardDataBuilder data) {
+        Map<String, Integer> nameToId = new HashMap<>();
+        for (Card card : data.getCards()) {
+            nameToId.put(card.getName().toLowerCase().replaceAll("\\s+", ""), card.getId());
+        }
+        allCards = data.getCards();
+        cardNameToId = nameToId;
+        
+        int maxCardId = data.getMaxCardId();
+        cardRegistry = new CardRegistry(allCards);
+        nameIndex = new CardNameIndex(allCards);
+        fuzzyNameIndex = new CardNameBkTree(allCards);
+        fusionIndex = FusionIndex.build(maxCardId, data.getPairCard1(), data.getPairCard2(), data.getPairResult(), data.getPairCount());
+        recipeIndex = FusionRecipeIndex.build(maxCardId, data.getPairCard1(), data.getPairCard2(), data.getPairResult(), data.getPairCount(), cardRegistry);
+        
+        int[] attacks = new int[maxCardId + 1];
+        for (Card card : allCards) {
+            if (card.getId() >= 0) attacks[card.getId()] = card.getAttack();
+        }
+        attackById = attacks;
+        fusionPlanner = new FusionPlanner(fusionIndex, attackById);
+        
+        FusionLog.d(TAG, "Loaded " + allCards.size() + " cards, " + fusionIndex.getPairCount() + " fusion pairs indexed");
+        
+        // Debug specific cards
+        Card airMarmot = findCardById(202);
+        Card griggle = findCardById(547);
+        if (airMarmot != null && griggle != null) {
+            FusionLog.d(TAG, "Air Marmot: " + airMarmot.getName() + " (ID: " + airMarmot.getId() + ")");
+            FusionLog.d(TAG, "Griggle: " + griggle.getName() + " (ID: " + griggle.getId() + ")");
+            
+            // Check if Air Marmot has fusion with Griggle
+            int resultId = checkFusion(202, 547);
+            if (resultId != FusionIndex.NO_FUSION) {
+                Card result = findCardById(resultId);
+                FusionLog.d(TAG, "Found fusion: Air Marmot + Griggle = " + (result != null ? result.getName() : "Unknown") + " (ID: " + resultId + ")");
+            }
+        }
+    }
+
+    public List<FusionResult> findPossibleFusions(List<Card> hand) {
+        List<FusionResult> results = new ArrayList<>();
+        
+        FusionLog.d(TAG, "Finding fusions for hand with " + hand.size() + " cards");
+        
+        // Find all direct fusions first (hand only)
+        List<FusionResult> directFusions = findDirectFusions(hand);
+        results.addAll(directFusions);
+        
+        // Find chained fusions (fusion results that can fuse with remaining cards)
+        results.addAll(findChainedFusions(hand, directFusions));
+        
+        FusionLog.d(TAG, "Found " + results.size() + " possible fusions (direct + chained)");
+        return results;
+    }
+
+    public List<FusionResult> findPossibleFusions(List<Card> hand, List<Card> field) {
+        List<FusionResult> results = new ArrayList<>();
+        
+        FusionLog.d(TAG, "Finding fusions for hand with " + hand.size() + " cards and field with " + field.size() + " cards");
+        
+        // Find all direct fusions (hand only)
+        List<FusionResult> directFusions = findDirectFusions(hand);
+        results.addAll(directFusions);
+        
+        // Find direct fusions with field cards (field + hand)
+        List<FusionResult> fieldDirectFusions = findFieldDirectFusions(field, hand);
+        results.addAll(fieldDirectFusions);
+        
+        // Find chained fusions (hand only); the direct fusions above are reused as prerequisites
+        results.addAll(findChainedFusions(hand, directFusions));
+        
+        // Find chained fusions with field cards (field card must be in prerequisite fusion)
+        results.addAll(findFieldChainedFusions(hand, fieldDirectFusions));
+        
+        FusionLog.d(TAG, "Found " + results.size() + " possible fusions (direct + chained + field)");
+        return results;
+    }
+    
+    /**
+     * Grouped result mode: the same results as {@link #findPossibleFusions(List, List)}, with
+     * rows that produce the same card from the same materials collapsed into one group.
+     */
+    public List<FusionResultGroup> findPossibleFusionGroups(List<Card> hand, List<Card> field) {
+        return FusionResultGroup.group(findPossibleFusions(hand, field));
+    }
+    
+    private List<FusionResult> findDirectFusions(List<Card> hand) {
+        List<FusionResult> results = new ArrayList<>();
+        
+        for (int i = 0; i < hand.size(); i++) {
+            Card card1 = hand.get(i);
+            if (card1.isEmpty()) continue;
+            
+            for (int j = i + 1; j < hand.size(); j++) {
+                Card card2 = hand.get(j);
+                if (card2.isEmpty()) continue;
+                
+                FusionLog.d(TAG, "Checking direct fusion: " + card1.getName() + " (ID: " + card1.getId() + ") + " + card2.getName() + " (ID: " + card2.getId() + ")");
+                
+                int resultId = checkFusion(card1.getId(), card2.getId());
+                if (resultId != FusionIndex.NO_FUSION) {
+                    Card resultCard = findCardById(resultId);
+                    if (resultCard != null) {
+                        FusionLog.d(TAG, "Found direct fusion: " + card1.getName() + " + " + card2.getName() + " = " + resultCard.getName());
+                        results.add(new FusionResult(card1, card2, resultCard, i, j, FusionType.DIRECT));
+                    }
+                }
+            }
+        }
+        
+        return results;
+    }
+    
+    private List<FusionResult> findFieldDirectFusions(List<Card> field, List<Card> hand) {
+        List<FusionResult> results = new ArrayList<>();
+        
+        // Check each field card against each hand card
+        for (int fieldPos = 0; fieldPos < field.size(); fieldPos++) {
+            Card fieldCard = field.get(fieldPos);
+            if (fieldCard.isEmpty()) continue;
+            
+            for (int handPos = 0; handPos < hand.size(); handPos++) {
+                Card handCard = hand.get(handPos);
+                if (handCard.isEmpty()) continue;
+                
+                FusionLog.d(TAG, "Checking field fusion: " + fieldCard.getName() + " (Field ID: " + fieldCard.getId() + ") + " + handCard.getName() + " (Hand ID: " + handCard.getId() + ")");
+                
+                int resultId = checkFusion(fieldCard.getId(), handCard.getId());
+                if (resultId != FusionIndex.NO_FUSION) {
+                    Card resultCard = findCardById(resultId);
+                    if (resultCard != null) {
+                        FusionLog.d(TAG, "Found field fusion: " + fieldCard.getName() + " + " + handCard.getName() + " = " + resultCard.getName());
+                        results.add(new FusionResult(fieldCard, handCard, resultCard, fieldPos, handPos, FusionType.FIELD_DIRECT));
+                    }
+                }
+            }
+        }
+        
+        return results;
+    }
+    
+    private List<FusionResult> findFieldChainedFusions(List<Card> hand, List<FusionResult> fieldDirectFusions) {
+        List<FusionResult> results = new ArrayList<>();
+        
+        // For each field direct fusion, check if the result can fuse with remaining hand cards
+        for (FusionResult fieldDirectFusion : fieldDirectFusions) {
+            Card fusionResult = fieldDirectFusion.getResult();
+            int usedFieldPos = fieldDirectFusion.getPosition1(); // Field position
+            int usedHandPos = fieldDirectFusion.getPosition2(); // Hand position
+            
+            // Check if fusion result can combine with any remaining hand cards
+            for (int handPos = 0; handPos < hand.size(); handPos++) {
+                Card remainingHandCard = hand.get(handPos);
+                if (remainingHandCard.isEmpty()) continue;
+                if (handPos == usedHandPos) continue; // Skip already used hand card
+                
+                FusionLog.d(TAG, "Checking field chained fusion: " + fusionResult.getName() + " (from " + 
+                      fieldDirectFusion.getMaterial1().getName() + "+" + fieldDirectFusion.getMaterial2().getName() + 
+                      ") + " + remainingHandCard.getName());
+                
+                int chainedResultId = checkFusion(fusionResult.getId(), remainingHandCard.getId());
+                if (chainedResultId != FusionIndex.NO_FUSION) {
+                    Card chainedResultCard = findCardById(chainedResultId);
+                    if (chainedResultCard != null) {
+                        FusionLog.d(TAG, "Found field chained fusion: (" + fieldDirectFusion.getMaterial1().getName() + "+" + 
+                              fieldDirectFusion.getMaterial2().getName() + "=" + fusionResult.getName() + ") + " + 
+                              remainingHandCard.getName() + " = " + chainedResultCard.getName());
+                        
+                        // Create field chained fusion result
+                        results.add(new FusionResult(
+                            fieldDirectFusion, // The prerequisite fusion (field + hand)
+                            remainingHandCard, // The additional hand card
+                            chainedResultCard, // The final result
+                            handPos, // Position of the additional hand card
+                            FusionType.FIELD_CHAINED
+                        ));
+                    }
+                }
+            }
+        }
+        
+        return results;
+    }
+
+    private List<FusionResult> findChainedFusions(List<Card> hand, List<FusionResult> directFusions) {
+        List<FusionResult> results = new ArrayList<>();
+        
+        // For each direct fusion, check if the result can fuse with remaining cards
+        for (FusionResult directFusion : directFusions) {
+            Card fusionResult = directFusion.getResult();
+            int usedPos1 = directFusion.getPosition1();
+            int usedPos2 = directFusion.getPosition2();
+            
+            // Check if fusion result can combine with any remaining cards
+            for (int i = 0; i < hand.size(); i++) {
+                Card remainingCard = hand.get(i);
+                if (remainingCard.isEmpty()) continue;
+                if (i == usedPos1 || i == usedPos2) continue; // Skip already used cards
+                
+                FusionLog.d(TAG, "Checking chained fusion: " + fusionResult.getName() + " (from " + 
+                      directFusion.getMaterial1().getName() + "+" + directFusion.getMaterial2().getName() + 
+                      ") + " + remainingCard.getName());
+                
+                int chainedResultId = checkFusion(fusionResult.getId(), remainingCard.getId());
+                if (chainedResultId != FusionIndex.NO_FUSION) {
+                    Card chainedResultCard = findCardById(chainedResultId);
+                    if (chainedResultCard != null) {
+                        FusionLog.d(TAG, "Found chained fusion: (" + directFusion.getMaterial1().getName() + "+" + 
+                              directFusion.getMaterial2().getName() + "=" + fusionResult.getName() + ") + " + 
+                              remainingCard.getName() + " = " + chainedResultCard.getName());
+                        
+                        // Create chained fusion result
+                        results.add(new FusionResult(
+                            directFusion, // The prerequisite fusion
+                            remainingCard, // The additional card
+                            chainedResultCard, // The final result
+                            i, // Position of the additional card
+                            FusionType.CHAINED
+                        ));
+                    }
+                }
+            }
+        }
+        
+        return results;
+    }
+
+    /**
+     * Finds every card reachable by fusing any subset of the hand and field slots, in any
+     * order and with any number of field cards, using at most maxMaterials cards per chain.
+     * Each result comes with one witness chain (the shortest one found). Results are sorted by
+     * attack, highest first.
+     */
+    public List<FusionChain> findReachableFusions(List<Card> hand, List<Card> field, int maxMaterials) {
+        List<Card> slotCards = new ArrayList<>();
+        List<Integer> slotPositions = new ArrayList<>();
+        List<Boolean> slotFromField = new ArrayList<>();
+        collectSlots(hand, false, slotCards, slotPositions, slotFromField);
+        collectSlots(field, true, slotCards, slotPositions, slotFromField);
+        
+        List<FusionChain> chains = new ArrayList<>();
+        if (slotCards.size() < 2 || fusionIndex == null) return chains;
+        
+        int[] slotIds = new int[slotCards.size()];
+        for (int i = 0; i < slotIds.length; i++) {
+            slotIds[i] = slotCards.get(i).getId();
+        }
+        
+        FusionChainEnumerator enumerator = new FusionChainEnumerator(fusionIndex, slotIds, maxMaterials);
+        List<FusionChainEnumerator.Reach> reaches;
+        if (parallelSearchEnabled && getSearchPool().getParallelism() > 1) {
+            // The sequential search up to PARALLEL_MIN_STATES doubles as the size estimate
+            FusionChainEnumerator probe = new FusionChainEnumerator(fusionIndex, slotIds, maxMaterials,
+                    Math.min(PARALLEL_MIN_STATES, FusionChainEnumerator.defaultStateLimit()));
+            reaches = probe.run(-1);
+            if (probe.isTruncated()) reaches = enumerator.runParallel(getSearchPool());
+        } else {
+            reaches = enumerator.run(-1);
+        }
+        for (FusionChainEnumerator.Reach reach : reaches) {
+            Card result = findCardById(reach.resultId);
+            if (result == null) continue;
+            
+            int length = reach.slots.length;
+            Card[] materials = new Card[length];
+            int[] positions = new int[length];
+            boolean[] fromField = new boolean[length];
+            for (int i = 0; i < length; i++) {
+                int slot = reach.slots[i];
+                materials[i] = slotCards.get(slot);
+                positions[i] = slotPositions.get(slot);
+                fromField[i] = slotFromField.get(slot);
+            }
+            chains.add(new FusionChain(result, materials, positions, fromField));
+        }
+        
+        if (enumerator.isTruncated()) {
+            FusionLog.w(TAG, "Chain search stopped early, results may be incomplete");
+        }
+        FusionLog.d(TAG, "Found " + chains.size() + " reachable cards from " + slotIds.length + " slots");
+        
+        chains.sort((chain1, chain2) -> {
+            int cmp = Integer.compare(chain2.getResult().getAttack(), chain1.getResult().getAttack());
+            if (cmp != 0) return cmp;
+            cmp = Integer.compare(chain1.getMaterialCount(), chain2.getMaterialCount());
+            if (cmp != 0) return cmp;
+            return Integer.compare(chain1.getResult().getId(), chain2.getResult().getId());
+        });
+        return chains;
+    }
+    
+    public List<FusionChain> findReachableFusions(List<Card> hand, List<Card> field) {
+        return findReachableFusions(hand, field, FusionChainEnumerator.MAX_SLOTS);
+    }
+    
+    /**
+     * Plans the best plays for this turn: up to five hand cards played in order, optionally on
+     * top of one field monster, resolved the way the game does (a pair that does not fuse
+     * discards the earlier card). Returns at most topN plays, best first.
+     */
+    public List<PlaySequence> findBestPlays(List<Card> hand, List<Card> field, int topN, FusionPlanner.Objective objective) {
+        List<PlaySequence> plays = new ArrayList<>();
+        if (fusionPlanner == null) return plays;
+        
+        List<Card> handCards = new ArrayList<>();
+        List<Integer> handPositions = new ArrayList<>();
+        List<Boolean> handFromField = new ArrayList<>();
+        collectSlots(hand, false, handCards, handPositions, handFromField);
+        List<Card> fieldCards = new ArrayList<>();
+        List<Integer> fieldPositions = new ArrayList<>();
+        List<Boolean> fieldFromField = new ArrayList<>();
+        collectSlots(field, true, fieldCards, fieldPositions, fieldFromField);
+        if (handCards.isEmpty()) return plays;
+        
+        int[] handIds = new int[handCards.size()];
+        for (int i = 0; i < handIds.length; i++) {
+            handIds[i] = handCards.get(i).getId();
+        }
+        int[] fieldIds = new int[fieldCards.size()];
+        for (int i = 0; i < fieldIds.length; i++) {
+            fieldIds[i] = fieldCards.get(i).getId();
+        }
+        
+        long start = System.nanoTime();
+        for (FusionPlanner.Plan plan : fusionPlanner.plan(handIds, fieldIds, topN, objective)) {
+            int length = plan.slots.length;
+            Card[] cards = new Card[length];
+            int[] positions = new int[length];
+            boolean[] fromField = new boolean[length];
+            Card[] steps = new Card[length];
+            for (int i = 0; i < length; i++) {
+                int slot = plan.slots[i];
+                boolean isField = slot >= handIds.length;
+                cards[i] = isField ? fieldCards.get(slot - handIds.length) : handCards.get(slot);
+                positions[i] = isField ? fieldPositions.get(slot - handIds.length) : handPositions.get(slot);
+                fromField[i] = isField;
+                steps[i] = findCardById(plan.steps[i]);
+            }
+            plays.add(new PlaySequence(cards, positions, fromField, steps, plan.fused, steps[length - 1], plan.score));
+        }
+        FusionLog.d(TAG, "Planned " + plays.size() + " plays in " + (System.nanoTime() - start) / 1000 + "us");
+        return plays;
+    }
+    
+    public List<PlaySequence> findBestPlays(List<Card> hand, List<Card> field, int topN) {
+        return findBestPlays(hand, field, topN, FusionPlanner.FINAL_ATTACK_FEWEST_CARDS);
+    }
+    
+    /**
+     * Evaluates many hand/field states at once, see {@link FusionBatchEvaluator}. Hands and
+     * fields are flat arrays of card ids with a fixed stride per state (0 for empty slots);
+     * fields may be null. Large batches are spread over the search pool.
+     */
+    public FusionBatchEvaluator.Summaries evaluateBatch(int[] hands, int handStride, int[] fields, int fieldStride, int stateCount) {
+        FusionBatchEvaluator.Summaries summaries = new FusionBatchEvaluator.Summaries(stateCount);
+        if (fusionIndex == null) return summaries;
+        
+        if (parallelSearchEnabled) {
+            FusionBatchEvaluator.evaluateParallel(getSearchPool(), fusionIndex, attackById,
+                    hands, handStride, fields, fieldStride, stateCount, summaries);
+        } else {
+            createBatchEvaluator().evaluate(hands, handStride, fields, fieldStride, 0, stateCount, summaries);
+        }
+        return summaries;
+    }
+    
+    // For callers that evaluate states in their own loop; one evaluator per thread
+    public FusionBatchEvaluator createBatchEvaluator() {
+        return new FusionBatchEvaluator(fusionIndex, attackById);
+    }
+    
+    /**
+     * Parallel mode splits large searches across a fork-join pool sized to the device's cores.
+     * Results are identical to sequential mode (unless a search hits the state cap); it is
+     * enabled by default.
+     */
+    public void setParallelSearchEnabled(boolean enabled) {
+        parallelSearchEnabled = enabled;
+    }
+    
+    public boolean isParallelSearchEnabled() {
+        return parallelSearchEnabled;
+    }
+    
+    // Attack by card id for the loaded data; shared with simulators, never modify
+    int[] getAttackById() {
+        return attackById;
+    }
+    
+    synchronized ForkJoinPool getSearchPool() {
+        if (searchPool == null) {
+            searchPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        }
+        return searchPool;
+    }
+    
+    private void collectSlots(List<Card> cards, boolean isField, List<Card> slotCards,
+                              List<Integer> slotPositions, List<Boolean> slotFromField) {
+        for (int position = 0; position < cards.size(); position++) {
+            Card card = cards.get(position);
+            if (card.isEmpty()) continue;
+            slotCards.add(card);
+            slotPositions.add(position);
+            slotFromField.add(isField);
+        }
+    }
+
+    private int checkFusion(int card1Id, int card2Id) {
+        // Pair order does not matter, the index stores both directions
+        return fusionIndex != null ? fusionIndex.lookup(card1Id, card2Id) : FusionIndex.NO_FUSION;
+    }
+
+    public Card findCardByName(String name) {
+        String normalizedName = name.toLowerCase().replaceAll("\\s+", "");
+        Integer id = cardNameToId.get(normalizedName);
+        if (id != null) {
+            return findCardById(id);
+        }
+        
+        // Fallback: best partial name match, then the closest name allowing for typos
+        Card match = nameIndex.findFirst(name);
+        if (match != null) {
+            return match;
+        }
+        List<Card> fuzzy = searchCardsFuzzy(name, 1, null);
+        return fuzzy.isEmpty() ? null : fuzzy.get(0);
+    }
+
+    public Card findCardById(int id) {
+        return cardRegistry.get(id);
+    }
+    
+    public boolean isValidCardId(int id) {
+        return cardRegistry.isValidId(id);
+    }
+    
+    public CardRegistry getCardRegistry() {
+        return cardRegistry;
+    }
+
+    public List<Card> searchCards(String query) {
+        return searchCards(query, 20);
+    }
+    
+    /**
+     * Cards whose name contains the query, ignoring case: names starting with it first, then
+     * names with a word starting with it, then the rest. See {@link CardNameIndex}.
+     */
+    public List<Card> searchCards(String query, int limit) {
+        return nameIndex.search(query, limit);
+    }
+    
+    /**
+     * Cards whose name is within {@link #FUZZY_MAX_DISTANCE} edits of the query, ignoring case,
+     * spaces and punctuation. Closest names come first, ties are broken by the ranking (may be
+     * null). See {@link CardNameBkTree}.
+     */
+    public List<Card> searchCardsFuzzy(String query, int limit, CardNameBkTree.Ranking ranking) {
+        return fuzzyNameIndex.search(query, FUZZY_MAX_DISTANCE, limit, ranking);
+    }
+
+    // New methods for library functionality
+    public List<Card> getAllCards() {
+        return new ArrayList<>(allCards);
+    }
+    
+    public List<Card> getDirectFusionsForCard(int cardId) {
+        List<Card> partners = new ArrayList<>();
+        if (recipeIndex == null) return partners;
+        
+        // Each pair is stored once, so the partners in the material slice are already unique
+        int count = recipeIndex.getMaterialCount(cardId);
+        for (int i = 0; i < count; i++) {
+            int pair = recipeIndex.getMaterialPair(cardId, i);
+            Card partner = findCardById(recipeIndex.getPartner(pair, cardId));
+            if (partner != null) {
+                partners.add(partner);
+            }
+        }
+        
+        return partners;
+    }
+    
+    public Card getFusionResult(int card1Id, int card2Id) {
+        int resultId = checkFusion(card1Id, card2Id);
+        if (resultId != FusionIndex.NO_FUSION) {
+            return findCardById(resultId);
+        }
+        return null;
+    }
+    
+    public List<CardFusionInfo> getFusionsUsingCard(int cardId) {
+        List<CardFusionInfo> fusions = new ArrayList<>();
+        if (recipeIndex == null) return fusions;
+        
+        // Find all fusions where this card is used as material
+        int count = recipeIndex.getMaterialCount(cardId);
+        for (int i = 0; i < count; i++) {
+            CardFusionInfo info = createFusionInfo(recipeIndex.getMaterialPair(cardId, i), CardFusionInfo.FusionType.AS_MATERIAL);
+            if (info != null) {
+                fusions.add(info);
+            }
+        }
+        
+        return fusions;
+    }
+    
+    public List<CardFusionInfo> getFusionsResultingIn(int cardId) {
+        List<CardFusionInfo> fusions = new ArrayList<>();
+        if (recipeIndex == null) return fusions;
+        
+        // Find all fusions where this card is the result
+        int count = recipeIndex.getRecipeCount(cardId);
+        for (int i = 0; i < count; i++) {
+            CardFusionInfo info = createFusionInfo(recipeIndex.getRecipePair(cardId, i), CardFusionInfo.FusionType.AS_RESULT);
+            if (info != null) {
+                fusions.add(info);
+            }
+        }
+        
+        return fusions;
+    }
+    
+    // Number of recipes producing this card, without building the recipe list
+    public int getRecipeCount(int cardId) {
+        return recipeIndex != null ? recipeIndex.getRecipeCount(cardId) : 0;
+    }
+    
+    private CardFusionInfo createFusionInfo(int pair, CardFusionInfo.FusionType type) {
+        Card card1 = findCardById(recipeIndex.getCard1(pair));
+        Card card2 = findCardById(recipeIndex.getCard2(pair));
+        Card result = findCardById(recipeIndex.getResult(pair));
+        
+        if (card1 == null || card2 == null || result == null) {
+            return null;
+        }
+        String description = card1.getName() + " + " + card2.getName() + " = " + result.getName();
+        return new CardFusionInfo(type, description, card1, card2, result);
+    }
+
+    public static class FusionResult {
+        private Card material1;
+        private Card material2;
+        private Card result;
+        private int position1;
+        private int position2;
+        private FusionType type;
+        
+        // Additional fields for chained fusions
+        private FusionResult prerequisiteFusion;
+        private Card additionalCard;
+        private int additionalCardPosition;
+
+        // Constructor for direct fusions
+        public FusionResult(Card material1, Card material2, Card result, int position1, int position2, FusionType type) {
+            this.material1 = material1;
+            this.material2 = material2;
+            this.result = result;
+            this.position1 = position1;
+            this.position2 = position2;
+            this.type = type;
+        }
+
+        // Constructor for chained fusions
+        public FusionResult(FusionResult prerequisiteFusion, Card additionalCard, Card finalResult, int additionalCardPosition, FusionType type) {
+            this.prerequisiteFusion = prerequisiteFusion;
+            this.additionalCard = additionalCard;
+            this.result = finalResult;
+            this.additionalCardPosition = additionalCardPosition;
+            this.type = type;
+            
+            // For chained fusions, material1 and material2 represent the prerequisite fusion
+            this.material1 = prerequisiteFusion.material1;
+            this.material2 = prerequisiteFusion.material2;
+            this.position1 = prerequisiteFusion.position1;
+            this.position2 = prerequisiteFusion.position2;
+        }
+
+        public Card getMaterial1() { return material1; }
+        public Card getMaterial2() { return material2; }
+        public Card getResult() { return result; }
+        public int getPosition1() { return position1; }
+        public int getPosition2() { return position2; }
+        public FusionType getType() { return type; }
+        
+        // Additional getters for chained fusions
+        public FusionResult getPrerequisiteFusion() { return prerequisiteFusion; }
+        public Card getAdditionalCard() { return additionalCard; }
+        public int getAdditionalCardPosition() { return additionalCardPosition; }
+        
+        // Helper method to get all involved card positions
+        public List<Integer> getAllInvolvedPositions() {
+            List<Integer> positions = new ArrayList<>();
+            if (type == FusionType.DIRECT) {
+                positions.add(position1);
+                positions.add(position2);
+            } else if (type == FusionType.CHAINED) {
+                positions.add(position1);
+                positions.add(position2);
+                positions.add(additionalCardPosition);
+            }
+            return positions;
+        }
+        
+        // Helper method to get all involved hand positions only
+        public List<Integer> getAllInvolvedHandPositions() {
+            List<Integer> positions = new ArrayList<>();
+            if (type == FusionType.DIRECT) {
+                positions.add(position1);
+                positions.add(position2);
+            } else if (type == FusionType.CHAINED) {
+                positions.add(position1);
+                positions.add(position2);
+                positions.add(additionalCardPosition);
+            } else if (type == FusionType.FIELD_DIRECT) {
+                positions.add(position2); // Only hand position
+            } else if (type == FusionType.FIELD_CHAINED) {
+                positions.add(position2); // Hand position from prerequisite
+                positions.add(additionalCardPosition); // Additional hand position
+            }
+            return positions;
+        }
+        
+        // Helper method to get field position (if any)
+        public Integer getFieldPosition() {
+            if (type == FusionType.FIELD_DIRECT || type == FusionType.FIELD_CHAINED) {
+                return position1; // Field position
+            }
+            return null;
+        }
+        
+        // Helper method to check if this fusion involves field cards
+        public boolean involvesFieldCard() {
+            return type == FusionType.FIELD_DIRECT || type == FusionType.FIELD_CHAINED;
+        }
+    }
+
+    // Enum to distinguish between direct and chained fusions
+    public enum FusionType {
+        DIRECT,
+        CHAINED,
+        FIELD_DIRECT,
+        FIELD_CHAINED
+    }
+} 
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.example.ygo;
+
+import java.util.Arrays;
+
+/**
+ * Compact, symmetric lookup table for fusion pairs.
+ *
+ * Every card id owns a row of partner ids (sorted ascending) with the matching result ids
+ * stored alongside, in CSR layout. A pair lookup is a binary search inside one row and never
+ * boxes or allocates.
+ */
+public class FusionIndex {
+    public static final int NO_FUSION = 0;
+
+    private final int maxCardId;
+    private final int[] rowStart;   // rowStart[id]..rowStart[id + 1] is the row of card id
+    private final short[] partners;
+    private final short[] results;
+    private final int pairCount;
+
+    private FusionIndex(int maxCardId, int[] rowStart, short[] partners, short[] results, int pairCount) {
+        this.maxCardId = maxCardId;
+        this.rowStart = rowStart;
+        this.partners = partners;
+        this.results = results;
+        this.pairCount = pairCount;
+    }
+
+    /**
+     * Builds the index from parallel arrays of fusion pairs. Each pair only needs to be listed
+     * once; the reverse direction is added automatically.
+     */
+    public static FusionIndex build(int maxCardId, int[] card1, int[] card2, int[] result, int count) {
+        int[] rowStart = new int[maxCardId + 2];
+
+        // Count row sizes (a self-fusion only occupies one slot)
+        for (int i = 0; i < count; i++) {
+            rowStart[card1[i] + 1]++;
+            if (card1[i] != card2[i]) {
+                rowStart[card2[i] + 1]++;
+            }
+        }
+        for (int id = 1; id < rowStart.length; id++) {
+            rowStart[id] += rowStart[id - 1];
+        }
+
+        // Pack (partner, result) into one int so each row can be sorted in place
+        int[] packed = new int[rowStart[maxCardId + 1]];
+        int[] fill = Arrays.copyOf(rowStart, maxCardId + 1);
+        for (int i = 0; i < count; i++) {
+            packed[fill[card1[i]]++] = (card2[i] << 16) | result[i];
+            if (card1[i] != card2[i]) {
+                packed[fill[card2[i]]++] = (card1[i] << 16) | result[i];
+            }
+        }
+
+        short[] partners = new short[packed.length];
+        short[] results = new short[packed.length];
+        for (int id = 0; id <= maxCardId; id++) {
+            int from = rowStart[id];
+            int to = rowStart[id + 1];
+            Arrays.sort(packed, from, to);
+            for (int k = from; k < to; k++) {
+                partners[k] = (short) (packed[k] >>> 16);
+                results[k] = (short) (packed[k] & 0xFFFF);
+            }
+        }
+
+        return new FusionIndex(maxCardId, rowStart, partners, results, count);
+    }
+
+    /**
+     * Returns the result id of fusing the two cards in either order, or {@link #NO_FUSION}.
+     */
+    public int lookup(int card1Id, int card2Id) {
+        if (card1Id <= 0 || card2Id <= 0 || card1Id > maxCardId || card2Id > maxCardId) {
+            return NO_FUSION;
+        }
+
+        // Search the shorter of the two rows
+        int row = card1Id;
+        int key = card2Id;
+        if (getPartnerCount(card2Id) < getPartnerCount(card1Id)) {
+            row = card2Id;
+            key = card1Id;
+        }
+
+        int low = rowStart[row];
+        int high = rowStart[row + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int partner = partners[mid];
+            if (partner < key) {
+                low = mid + 1;
+            } else if (partner > key) {
+                high = mid - 1;
+            } else {
+                return results[mid];
+            }
+        }
+        return NO_FUSION;
+    }
+
+    public int getPartnerCount(int cardId) {
+        if (cardId <= 0 || cardId > maxCardId) return 0;
+        return rowStart[cardId + 1] - rowStart[cardId];
+    }
+
+    public int getPairCount() {
+        return pairCount;
+    }
+
+    public int getMaxCardId() {
+        return maxCardId;
+    }
+}
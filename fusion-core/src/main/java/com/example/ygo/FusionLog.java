@@ -0,0 +1,54 @@
+package com.example.ygo;
+
+/**
+ * Logging for the engine without an Android dependency. The app installs a logger that
+ * forwards to android.util.Log; by default only warnings and errors go to stderr.
+ */
+public final class FusionLog {
+    public interface Logger {
+        void debug(String tag, String message);
+        void warn(String tag, String message, Throwable error);
+        void error(String tag, String message, Throwable error);
+    }
+
+    private static final Logger STDERR = new Logger() {
+        @Override
+        public void debug(String tag, String message) {
+        }
+
+        @Override
+        public void warn(String tag, String message, Throwable error) {
+            System.err.println("W/" + tag + ": " + message + (error != null ? " (" + error + ")" : ""));
+        }
+
+        @Override
+        public void error(String tag, String message, Throwable error) {
+            System.err.println("E/" + tag + ": " + message + (error != null ? " (" + error + ")" : ""));
+        }
+    };
+
+    private static volatile Logger logger = STDERR;
+
+    private FusionLog() {
+    }
+
+    public static void setLogger(Logger newLogger) {
+        logger = newLogger != null ? newLogger : STDERR;
+    }
+
+    public static void d(String tag, String message) {
+        logger.debug(tag, message);
+    }
+
+    public static void w(String tag, String message) {
+        logger.warn(tag, message, null);
+    }
+
+    public static void w(String tag, String message, Throwable error) {
+        logger.warn(tag, message, error);
+    }
+
+    public static void e(String tag, String message, Throwable error) {
+        logger.error(tag, message, error);
+    }
+}
@@ -0,0 +1,289 @@
+package com.example.ygo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * Finds the best ordered plays for a hand under Forbidden Memories' fusion rules: up to five
+ * hand cards are played in order (optionally on top of one field monster), each card fuses with
+ * the card on top of the chain, and a pair that does not fuse discards the earlier card.
+ *
+ * The search is a depth-first branch and bound. Before it starts, every card reachable from the
+ * hand and field by fusing hand cards onto it gets an attack ceiling (the strongest card it can
+ * still turn into with this hand), which bounds what a partial play can still reach. A transposition table keyed on (top card, remaining hand multiset, cards
+ * played) remembers upper bounds of subtrees that were already searched.
+ */
+public class FusionPlanner {
+    public static final int MAX_HAND_CARDS_PER_PLAY = 5;
+
+    /**
+     * Scores the final card of a play. cardsUsed counts hand cards only; a field monster the play
+     * starts from is already on the board. Scores must not decrease with attack and must not
+     * increase with the number of cards used, otherwise pruning would drop valid plays.
+     */
+    public interface Objective {
+        long score(int attack, int cardsUsed);
+    }
+
+    public static final Objective FINAL_ATTACK = (attack, cardsUsed) -> attack;
+
+    // Highest attack first; among equal attack, keep more cards in hand
+    public static final Objective FINAL_ATTACK_FEWEST_CARDS = (attack, cardsUsed) -> (long) attack * 16 - cardsUsed;
+
+    private static final int TABLE_BITS = 16;
+
+    private final FusionIndex index;
+    private final int[] attackById;
+    private final long[] cardKeys;
+    private final long[] topKeys;
+
+    public FusionPlanner(FusionIndex index, int[] attackById) {
+        this.index = index;
+        this.attackById = attackById;
+
+        // Zobrist-style keys; hand multisets are hashed by summing, so duplicates do not cancel
+        Random random = new Random(0x5947464DL);
+        cardKeys = new long[attackById.length];
+        topKeys = new long[attackById.length];
+        for (int id = 0; id < attackById.length; id++) {
+            cardKeys[id] = random.nextLong();
+            topKeys[id] = random.nextLong();
+        }
+    }
+
+    /**
+     * Returns up to topN plays, best first. Slots are numbered hand first (0..hand.length - 1)
+     * and then field; field cards can only start a play, and every play uses at least one hand
+     * card.
+     */
+    public List<Plan> plan(int[] hand, int[] field, int topN, Objective objective) {
+        return new Search(hand, field, topN, objective).run();
+    }
+
+    /**
+     * One planned play, in slot numbers. steps[i] is the top card after slot i was played.
+     */
+    public static class Plan {
+        public final int[] slots;
+        public final int[] steps;
+        public final boolean[] fused;
+        public final long score;
+        final long order;
+
+        Plan(int[] slots, int[] steps, boolean[] fused, long score, long order) {
+            this.slots = slots;
+            this.steps = steps;
+            this.fused = fused;
+            this.score = score;
+            this.order = order;
+        }
+
+        public int getFinalCard() {
+            return steps[steps.length - 1];
+        }
+
+        // Higher score first, then fewer cards, then the play that was found first
+        int compareTo(long otherScore, int otherLength, long otherOrder) {
+            if (score != otherScore) return score > otherScore ? -1 : 1;
+            if (slots.length != otherLength) return slots.length < otherLength ? -1 : 1;
+            return Long.compare(order, otherOrder);
+        }
+    }
+
+    private class Search {
+        private final int[] hand;
+        private final int[] field;
+        private final int topN;
+        private final Objective objective;
+        private final int handLimit;
+        private final int[] lowerTwins;
+        // handCeiling[c] = max attack over c and every card reachable from c by fusing hand cards
+        private final int[] handCeiling;
+
+        private final PriorityQueue<Plan> best;
+        private long found = 0;
+
+        // Current play being built
+        private final int[] slots = new int[MAX_HAND_CARDS_PER_PLAY + 1];
+        private final int[] steps = new int[MAX_HAND_CARDS_PER_PLAY + 1];
+        private final boolean[] fused = new boolean[MAX_HAND_CARDS_PER_PLAY + 1];
+
+        // Transposition table: key -> upper bound of the best score in that subtree
+        private final long[] tableKeys = new long[1 << TABLE_BITS];
+        private final long[] tableBounds = new long[1 << TABLE_BITS];
+
+        Search(int[] hand, int[] field, int topN, Objective objective) {
+            this.hand = hand;
+            this.field = field;
+            this.topN = Math.max(1, topN);
+            this.objective = objective;
+            this.handLimit = Math.min(MAX_HAND_CARDS_PER_PLAY, hand.length);
+            // Worst plan at the head, so it can be evicted
+            this.best = new PriorityQueue<>(this.topN, (a, b) -> b.compareTo(a.score, a.slots.length, a.order));
+
+            lowerTwins = new int[hand.length];
+            for (int s = 0; s < hand.length; s++) {
+                for (int t = 0; t < s; t++) {
+                    if (hand[t] == hand[s]) lowerTwins[s] |= 1 << t;
+                }
+            }
+            handCeiling = computeHandCeilings();
+        }
+
+        // Only cards reachable from this hand and field get a ceiling; the rest are never on top
+        private int[] computeHandCeilings() {
+            int[] ceiling = new int[attackById.length];
+            boolean[] seen = new boolean[attackById.length];
+            int[] reached = new int[32];
+            int reachedCount = 0;
+            for (int i = 0; i < hand.length + field.length; i++) {
+                int card = i < hand.length ? hand[i] : field[i - hand.length];
+                if (seen[card]) continue;
+                seen[card] = true;
+                if (reachedCount == reached.length) reached = Arrays.copyOf(reached, reachedCount * 2);
+                reached[reachedCount++] = card;
+            }
+
+            // Fusion edges (from, to) between reached cards, found breadth first
+            int[] edges = new int[64];
+            int edgeCount = 0;
+            for (int i = 0; i < reachedCount; i++) {
+                int card = reached[i];
+                for (int s = 0; s < hand.length; s++) {
+                    if (lowerTwins[s] != 0) continue;
+                    int result = index.lookup(card, hand[s]);
+                    if (result == FusionIndex.NO_FUSION) continue;
+                    if (edgeCount + 2 > edges.length) edges = Arrays.copyOf(edges, edges.length * 2);
+                    edges[edgeCount++] = card;
+                    edges[edgeCount++] = result;
+                    if (!seen[result]) {
+                        seen[result] = true;
+                        if (reachedCount == reached.length) reached = Arrays.copyOf(reached, reachedCount * 2);
+                        reached[reachedCount++] = result;
+                    }
+                }
+            }
+
+            for (int i = 0; i < reachedCount; i++) {
+                ceiling[reached[i]] = attackById[reached[i]];
+            }
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                for (int e = 0; e < edgeCount; e += 2) {
+                    if (ceiling[edges[e + 1]] > ceiling[edges[e]]) {
+                        ceiling[edges[e]] = ceiling[edges[e + 1]];
+                        changed = true;
+                    }
+                }
+            }
+            return ceiling;
+        }
+
+        List<Plan> run() {
+            long handKey = 0;
+            for (int card : hand) {
+                handKey += cardKeys[card];
+            }
+
+            // Plays starting from the hand
+            for (int s = 0; s < hand.length; s++) {
+                if (lowerTwins[s] != 0) continue;
+                slots[0] = s;
+                steps[0] = hand[s];
+                fused[0] = false;
+                search(hand[s], 1 << s, 1, 1, handKey - cardKeys[hand[s]]);
+            }
+
+            // Plays on top of a field monster
+            for (int f = 0; f < field.length; f++) {
+                boolean duplicate = false;
+                for (int g = 0; g < f; g++) {
+                    if (field[g] == field[f]) duplicate = true;
+                }
+                if (duplicate) continue;
+                slots[0] = hand.length + f;
+                steps[0] = field[f];
+                fused[0] = false;
+                search(field[f], 0, 0, 1, handKey);
+            }
+
+            List<Plan> plans = new ArrayList<>(best);
+            plans.sort((a, b) -> a.compareTo(b.score, b.slots.length, b.order));
+            return plans;
+        }
+
+        // Returns an upper bound of the best score reachable from this node
+        private long search(int top, int usedMask, int handUsed, int length, long remainingKey) {
+            // A field monster on its own is not a play
+            long score = Long.MIN_VALUE;
+            if (handUsed > 0) {
+                score = objective.score(attackById[top], handUsed);
+                offer(length, score);
+            }
+            if (handUsed >= handLimit) {
+                return score;
+            }
+
+            // Any later final card is reachable from the top card or from an unused hand card
+            int ceiling = handCeiling[top];
+            for (int s = 0; s < hand.length; s++) {
+                if ((usedMask & (1 << s)) == 0) {
+                    ceiling = Math.max(ceiling, handCeiling[hand[s]]);
+                }
+            }
+            long bound = Math.max(score, objective.score(ceiling, handUsed + 1));
+            if (isFull() && bound < threshold()) {
+                return bound;
+            }
+
+            long key = remainingKey ^ topKeys[top] ^ ((long) handUsed << 56) ^ ((long) length << 60);
+            int bucket = (int) (key ^ (key >>> 32)) & ((1 << TABLE_BITS) - 1);
+            if (tableKeys[bucket] == key && isFull() && tableBounds[bucket] < threshold()) {
+                return tableBounds[bucket];
+            }
+
+            long subtree = score;
+            for (int s = 0; s < hand.length; s++) {
+                int bit = 1 << s;
+                if ((usedMask & bit) != 0) continue;
+                if ((lowerTwins[s] & ~usedMask) != 0) continue;
+
+                int result = index.lookup(top, hand[s]);
+                int next = result != FusionIndex.NO_FUSION ? result : hand[s];
+                slots[length] = s;
+                steps[length] = next;
+                fused[length] = result != FusionIndex.NO_FUSION;
+
+                long child = search(next, usedMask | bit, handUsed + 1, length + 1, remainingKey - cardKeys[hand[s]]);
+                subtree = Math.max(subtree, child);
+            }
+
+            tableKeys[bucket] = key;
+            tableBounds[bucket] = subtree;
+            return subtree;
+        }
+
+        private boolean isFull() {
+            return best.size() >= topN;
+        }
+
+        private long threshold() {
+            return best.peek().score;
+        }
+
+        private void offer(int length, long score) {
+            long order = found++;
+            if (isFull()) {
+                Plan worst = best.peek();
+                if (worst.compareTo(score, length, order) <= 0) return;
+                best.poll();
+            }
+            best.add(new Plan(Arrays.copyOf(slots, length), Arrays.copyOf(steps, length),
+                    Arrays.copyOf(fused, length), score, order));
+        }
+    }
+}
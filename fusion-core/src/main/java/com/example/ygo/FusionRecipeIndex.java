@@ -0,0 +1,129 @@
+package com.example.ygo;
+
+import java.util.Arrays;
+
+/**
+ * Inverted indexes over the fusion table, built once at load time.
+ *
+ * Every fusion pair is stored once in flat primitive arrays, ordered by result attack (highest
+ * first). Two CSR tables then map a card id to the pairs it takes part in as a material and to
+ * the pairs that produce it, so per-card queries read a contiguous slice instead of scanning
+ * the whole table.
+ */
+public class FusionRecipeIndex {
+    private final int maxCardId;
+    private final short[] pairCard1;
+    private final short[] pairCard2;
+    private final short[] pairResult;
+
+    private final int[] materialStart;
+    private final int[] materialPairs;
+    private final int[] resultStart;
+    private final int[] resultPairs;
+
+    private FusionRecipeIndex(int maxCardId, short[] pairCard1, short[] pairCard2, short[] pairResult,
+                              int[] materialStart, int[] materialPairs, int[] resultStart, int[] resultPairs) {
+        this.maxCardId = maxCardId;
+        this.pairCard1 = pairCard1;
+        this.pairCard2 = pairCard2;
+        this.pairResult = pairResult;
+        this.materialStart = materialStart;
+        this.materialPairs = materialPairs;
+        this.resultStart = resultStart;
+        this.resultPairs = resultPairs;
+    }
+
+    public static FusionRecipeIndex build(int maxCardId, int[] card1, int[] card2, int[] result, int count,
+                                          CardRegistry registry) {
+        // Order pairs by result attack (descending), then by materials for a stable layout
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        int[] attack = new int[maxCardId + 1];
+        for (int id = 0; id <= maxCardId; id++) {
+            Card card = registry.get(id);
+            attack[id] = card != null ? card.getAttack() : 0;
+        }
+        Arrays.sort(order, (a, b) -> {
+            int cmp = Integer.compare(attack[result[b]], attack[result[a]]);
+            if (cmp != 0) return cmp;
+            cmp = Integer.compare(card1[a], card1[b]);
+            if (cmp != 0) return cmp;
+            return Integer.compare(card2[a], card2[b]);
+        });
+
+        short[] pairCard1 = new short[count];
+        short[] pairCard2 = new short[count];
+        short[] pairResult = new short[count];
+        for (int i = 0; i < count; i++) {
+            pairCard1[i] = (short) card1[order[i]];
+            pairCard2[i] = (short) card2[order[i]];
+            pairResult[i] = (short) result[order[i]];
+        }
+
+        // Material rows: a self-fusion is listed once
+        int[] materialStart = new int[maxCardId + 2];
+        int[] resultStart = new int[maxCardId + 2];
+        for (int i = 0; i < count; i++) {
+            materialStart[pairCard1[i] + 1]++;
+            if (pairCard1[i] != pairCard2[i]) {
+                materialStart[pairCard2[i] + 1]++;
+            }
+            resultStart[pairResult[i] + 1]++;
+        }
+        for (int id = 1; id < maxCardId + 2; id++) {
+            materialStart[id] += materialStart[id - 1];
+            resultStart[id] += resultStart[id - 1];
+        }
+
+        int[] materialPairs = new int[materialStart[maxCardId + 1]];
+        int[] resultPairs = new int[count];
+        int[] materialFill = Arrays.copyOf(materialStart, maxCardId + 1);
+        int[] resultFill = Arrays.copyOf(resultStart, maxCardId + 1);
+        // Pairs are visited in attack order, so every row comes out sorted as well
+        for (int i = 0; i < count; i++) {
+            materialPairs[materialFill[pairCard1[i]]++] = i;
+            if (pairCard1[i] != pairCard2[i]) {
+                materialPairs[materialFill[pairCard2[i]]++] = i;
+            }
+            resultPairs[resultFill[pairResult[i]]++] = i;
+        }
+
+        return new FusionRecipeIndex(maxCardId, pairCard1, pairCard2, pairResult,
+                materialStart, materialPairs, resultStart, resultPairs);
+    }
+
+    // Pair accessors
+    public int getPairCount() { return pairCard1.length; }
+    public int getCard1(int pair) { return pairCard1[pair]; }
+    public int getCard2(int pair) { return pairCard2[pair]; }
+    public int getResult(int pair) { return pairResult[pair]; }
+
+    /**
+     * Returns the other material of a pair that contains the given card.
+     */
+    public int getPartner(int pair, int cardId) {
+        return pairCard1[pair] == cardId ? pairCard2[pair] : pairCard1[pair];
+    }
+
+    // Material slice: pairs that use the card as one of their materials
+    public int getMaterialCount(int cardId) {
+        if (cardId <= 0 || cardId > maxCardId) return 0;
+        return materialStart[cardId + 1] - materialStart[cardId];
+    }
+
+    public int getMaterialPair(int cardId, int i) {
+        return materialPairs[materialStart[cardId] + i];
+    }
+
+    // Result slice: pairs (recipes) that produce the card
+    public int getRecipeCount(int cardId) {
+        if (cardId <= 0 || cardId > maxCardId) return 0;
+        return resultStart[cardId + 1] - resultStart[cardId];
+    }
+
+    public int getRecipePair(int cardId, int i) {
+        return resultPairs[resultStart[cardId] + i];
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.ygo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fusion results that produce the same card from the same material multiset, e.g. the same pair
+ * from duplicate hand cards or the same three cards fused in a different order. The first result
+ * found is the representative; the others are alternatives.
+ */
+public class FusionResultGroup {
+    private final long key;
+    private final List<FusionEngine.FusionResult> results = new ArrayList<>(1);
+
+    private FusionResultGroup(long key, FusionEngine.FusionResult representative) {
+        this.key = key;
+        this.results.add(representative);
+    }
+
+    public long getKey() { return key; }
+    public Card getResult() { return results.get(0).getResult(); }
+    public FusionEngine.FusionResult getRepresentative() { return results.get(0); }
+
+    public int getAlternativeCount() { return results.size() - 1; }
+    public FusionEngine.FusionResult getAlternative(int i) { return results.get(i + 1); }
+    public boolean hasAlternatives() { return results.size() > 1; }
+
+    /**
+     * Groups results by result card and canonical material multiset, keeping the order in which
+     * each group first appears.
+     */
+    public static List<FusionResultGroup> group(List<FusionEngine.FusionResult> fusionResults) {
+        List<FusionResultGroup> groups = new ArrayList<>();
+        Map<Long, FusionResultGroup> groupsByKey = new HashMap<>();
+        for (FusionEngine.FusionResult fusionResult : fusionResults) {
+            long key = keyOf(fusionResult);
+            FusionResultGroup group = groupsByKey.get(key);
+            if (group == null) {
+                group = new FusionResultGroup(key, fusionResult);
+                groupsByKey.put(key, group);
+                groups.add(group);
+            } else {
+                group.results.add(fusionResult);
+            }
+        }
+        return groups;
+    }
+
+    // Result id in the high bits, then up to three sorted material codes of 11 bits each.
+    // A material code is id * 2 + 1 for field cards, so a field copy differs from a hand copy.
+    static long keyOf(FusionEngine.FusionResult fusionResult) {
+        boolean field = fusionResult.involvesFieldCard();
+        int[] codes;
+        if (fusionResult.getPrerequisiteFusion() == null) {
+            codes = new int[]{materialCode(fusionResult.getMaterial1(), field), materialCode(fusionResult.getMaterial2(), false)};
+        } else {
+            codes = new int[]{materialCode(fusionResult.getMaterial1(), field), materialCode(fusionResult.getMaterial2(), false),
+                    materialCode(fusionResult.getAdditionalCard(), false)};
+        }
+        Arrays.sort(codes);
+
+        long key = fusionResult.getResult().getId();
+        for (int i = 0; i < 3; i++) {
+            key = (key << 11) | (i < codes.length ? codes[i] + 1 : 0);
+        }
+        return key;
+    }
+
+    private static int materialCode(Card card, boolean fromField) {
+        return card.getId() * 2 + (fromField ? 1 : 0);
+    }
+}
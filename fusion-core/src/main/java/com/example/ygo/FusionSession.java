@@ -0,0 +1,251 @@
+package com.example.ygo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps the current hand and field and the fusion results they produce, recomputing only what a
+ * slot edit can affect.
+ *
+ * Every result is cached per material slot combination (hand pair, field + hand pair, and the
+ * chained versions with one more hand card). Editing a slot marks it dirty, and the next call to
+ * {@link #getResults()} recomputes just the combinations that touch a dirty slot. The returned
+ * list has the same order as {@link FusionEngine#findPossibleFusions(List, List)}.
+ */
+public class FusionSession {
+    private final FusionEngine fusionEngine;
+    private final int maxHandSize;
+    private final int fieldSize;
+
+    // Card in each slot, null when empty
+    private final Card[] handCards;
+    private final Card[] fieldCards;
+    private int handSize;
+
+    // Bit per slot whose cached results are stale
+    private int dirtyHand;
+    private int dirtyField;
+
+    // Cached results by slot combination, null when the slots do not fuse
+    private final FusionEngine.FusionResult[][] direct;
+    private final FusionEngine.FusionResult[][][] chained;
+    private final FusionEngine.FusionResult[][] fieldDirect;
+    private final FusionEngine.FusionResult[][][] fieldChained;
+
+    private List<FusionEngine.FusionResult> results = Collections.emptyList();
+    private List<FusionResultGroup> groups = Collections.emptyList();
+    private boolean groupsStale;
+
+    public FusionSession(FusionEngine fusionEngine, int maxHandSize, int fieldSize) {
+        this.fusionEngine = fusionEngine;
+        this.maxHandSize = maxHandSize;
+        this.fieldSize = fieldSize;
+        this.handCards = new Card[maxHandSize];
+        this.fieldCards = new Card[fieldSize];
+        this.handSize = maxHandSize;
+        this.direct = new FusionEngine.FusionResult[maxHandSize][maxHandSize];
+        this.chained = new FusionEngine.FusionResult[maxHandSize][maxHandSize][maxHandSize];
+        this.fieldDirect = new FusionEngine.FusionResult[fieldSize][maxHandSize];
+        this.fieldChained = new FusionEngine.FusionResult[fieldSize][maxHandSize][maxHandSize];
+    }
+
+    public void setHandCard(int position, Card card) {
+        Card slotCard = snapshot(card);
+        if (sameCard(handCards[position], slotCard)) return;
+        handCards[position] = slotCard;
+        if (position < handSize) dirtyHand |= 1 << position;
+    }
+
+    public void setFieldCard(int position, Card card) {
+        Card slotCard = snapshot(card);
+        if (sameCard(fieldCards[position], slotCard)) return;
+        fieldCards[position] = slotCard;
+        dirtyField |= 1 << position;
+    }
+
+    public void clearHandSlot(int position) {
+        setHandCard(position, null);
+    }
+
+    public void clearFieldSlot(int position) {
+        setFieldCard(position, null);
+    }
+
+    public void moveHandCard(int from, int to) {
+        Card card = handCards[from];
+        setHandCard(from, handCards[to]);
+        setHandCard(to, card);
+    }
+
+    // Only slots inside the hand size take part in fusions
+    public void setHandSize(int size) {
+        if (size == handSize) return;
+        int low = Math.min(size, handSize);
+        int high = Math.max(size, handSize);
+        for (int position = low; position < high; position++) {
+            dirtyHand |= 1 << position;
+        }
+        handSize = size;
+    }
+
+    /**
+     * Copies the given hand into the session. Only slots whose card actually changed are
+     * invalidated, so moves and compaction cost as much as the slots they shift.
+     */
+    public void syncHand(List<Card> hand, int size) {
+        setHandSize(size);
+        for (int position = 0; position < maxHandSize; position++) {
+            setHandCard(position, position < hand.size() ? hand.get(position) : null);
+        }
+    }
+
+    public void syncField(List<Card> field) {
+        for (int position = 0; position < fieldSize; position++) {
+            setFieldCard(position, position < field.size() ? field.get(position) : null);
+        }
+    }
+
+    // Forces a full recompute, e.g. once the card data has finished loading
+    public void invalidateAll() {
+        dirtyHand = (1 << maxHandSize) - 1;
+        dirtyField = (1 << fieldSize) - 1;
+    }
+
+    public boolean isDirty() {
+        return dirtyHand != 0 || dirtyField != 0;
+    }
+
+    public List<FusionEngine.FusionResult> getResults() {
+        if (!isDirty()) return results;
+
+        for (int i = 0; i < maxHandSize; i++) {
+            for (int j = i + 1; j < maxHandSize; j++) {
+                if (isHandDirty(i) || isHandDirty(j)) {
+                    direct[i][j] = fuse(handCard(i), handCard(j), i, j, FusionEngine.FusionType.DIRECT);
+                }
+            }
+        }
+        for (int f = 0; f < fieldSize; f++) {
+            for (int h = 0; h < maxHandSize; h++) {
+                if (isFieldDirty(f) || isHandDirty(h)) {
+                    fieldDirect[f][h] = fuse(fieldCards[f], handCard(h), f, h, FusionEngine.FusionType.FIELD_DIRECT);
+                }
+            }
+        }
+        for (int i = 0; i < maxHandSize; i++) {
+            for (int j = i + 1; j < maxHandSize; j++) {
+                for (int k = 0; k < maxHandSize; k++) {
+                    if (isHandDirty(i) || isHandDirty(j) || isHandDirty(k)) {
+                        chained[i][j][k] = chain(direct[i][j], k, FusionEngine.FusionType.CHAINED);
+                    }
+                }
+            }
+        }
+        for (int f = 0; f < fieldSize; f++) {
+            for (int h = 0; h < maxHandSize; h++) {
+                for (int k = 0; k < maxHandSize; k++) {
+                    if (isFieldDirty(f) || isHandDirty(h) || isHandDirty(k)) {
+                        fieldChained[f][h][k] = chain(fieldDirect[f][h], k, FusionEngine.FusionType.FIELD_CHAINED);
+                    }
+                }
+            }
+        }
+        dirtyHand = 0;
+        dirtyField = 0;
+
+        // Same order as a full search: direct, field direct, chained, field chained
+        List<FusionEngine.FusionResult> assembled = new ArrayList<>();
+        for (int i = 0; i < maxHandSize; i++) {
+            for (int j = i + 1; j < maxHandSize; j++) {
+                addIfPresent(assembled, direct[i][j]);
+            }
+        }
+        for (int f = 0; f < fieldSize; f++) {
+            for (int h = 0; h < maxHandSize; h++) {
+                addIfPresent(assembled, fieldDirect[f][h]);
+            }
+        }
+        for (int i = 0; i < maxHandSize; i++) {
+            for (int j = i + 1; j < maxHandSize; j++) {
+                if (direct[i][j] == null) continue;
+                for (int k = 0; k < maxHandSize; k++) {
+                    addIfPresent(assembled, chained[i][j][k]);
+                }
+            }
+        }
+        for (int f = 0; f < fieldSize; f++) {
+            for (int h = 0; h < maxHandSize; h++) {
+                if (fieldDirect[f][h] == null) continue;
+                for (int k = 0; k < maxHandSize; k++) {
+                    addIfPresent(assembled, fieldChained[f][h][k]);
+                }
+            }
+        }
+        results = Collections.unmodifiableList(assembled);
+        groupsStale = true;
+        return results;
+    }
+
+    /**
+     * The current results in grouped mode, see {@link FusionResultGroup}. Groups are rebuilt
+     * only when the results changed.
+     */
+    public List<FusionResultGroup> getGroups() {
+        List<FusionEngine.FusionResult> current = getResults();
+        if (groupsStale) {
+            groups = Collections.unmodifiableList(FusionResultGroup.group(current));
+            groupsStale = false;
+        }
+        return groups;
+    }
+
+    private FusionEngine.FusionResult fuse(Card card1, Card card2, int position1, int position2,
+                                           FusionEngine.FusionType type) {
+        if (card1 == null || card2 == null) return null;
+        Card result = fusionEngine.getFusionResult(card1.getId(), card2.getId());
+        return result != null ? new FusionEngine.FusionResult(card1, card2, result, position1, position2, type) : null;
+    }
+
+    private FusionEngine.FusionResult chain(FusionEngine.FusionResult prerequisite, int position,
+                                            FusionEngine.FusionType type) {
+        if (prerequisite == null) return null;
+        Card card = handCard(position);
+        if (card == null) return null;
+        // The additional card must not be one of the prerequisite's hand cards
+        if (position == prerequisite.getPosition2()) return null;
+        if (type == FusionEngine.FusionType.CHAINED && position == prerequisite.getPosition1()) return null;
+
+        Card result = fusionEngine.getFusionResult(prerequisite.getResult().getId(), card.getId());
+        return result != null ? new FusionEngine.FusionResult(prerequisite, card, result, position, type) : null;
+    }
+
+    private Card handCard(int position) {
+        return position < handSize ? handCards[position] : null;
+    }
+
+    private boolean isHandDirty(int position) {
+        return (dirtyHand & (1 << position)) != 0;
+    }
+
+    private boolean isFieldDirty(int position) {
+        return (dirtyField & (1 << position)) != 0;
+    }
+
+    private static void addIfPresent(List<FusionEngine.FusionResult> list, FusionEngine.FusionResult result) {
+        if (result != null) list.add(result);
+    }
+
+    // Slot cards are copied: the activity clears and reuses its Card objects in place
+    private Card snapshot(Card card) {
+        if (card == null || card.isEmpty()) return null;
+        Card registryCard = fusionEngine.findCardById(card.getId());
+        return registryCard != null ? registryCard
+                : new Card(card.getId(), card.getName(), card.getType(), card.getAttack());
+    }
+
+    private static boolean sameCard(Card a, Card b) {
+        if (a == null || b == null) return a == b;
+        return a.getId() == b.getId();
+    }
+}
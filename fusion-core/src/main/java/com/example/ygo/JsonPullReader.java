@@ -0,0 +1,196 @@
+package com.example.ygo;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * A small streaming JSON reader with the subset of the android.util.JsonReader API the engine
+ * needs, so Cards.json can be read on any JVM. Input is assumed to be well-formed; separators
+ * are consumed leniently.
+ */
+class JsonPullReader implements Closeable {
+    enum Token {
+        BEGIN_ARRAY, END_ARRAY, BEGIN_OBJECT, END_OBJECT, NAME_OR_STRING, NUMBER, LITERAL, END_DOCUMENT
+    }
+
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private final StringBuilder text = new StringBuilder();
+
+    JsonPullReader(Reader in) {
+        this.in = in;
+    }
+
+    void beginArray() throws IOException {
+        expect('[');
+    }
+
+    void endArray() throws IOException {
+        expect(']');
+    }
+
+    void beginObject() throws IOException {
+        expect('{');
+    }
+
+    void endObject() throws IOException {
+        expect('}');
+    }
+
+    boolean hasNext() throws IOException {
+        int c = peekChar();
+        return c != ']' && c != '}' && c != -1;
+    }
+
+    Token peek() throws IOException {
+        int c = peekChar();
+        switch (c) {
+            case -1: return Token.END_DOCUMENT;
+            case '[': return Token.BEGIN_ARRAY;
+            case ']': return Token.END_ARRAY;
+            case '{': return Token.BEGIN_OBJECT;
+            case '}': return Token.END_OBJECT;
+            case '"': return Token.NAME_OR_STRING;
+            default: return c == '-' || (c >= '0' && c <= '9') ? Token.NUMBER : Token.LITERAL;
+        }
+    }
+
+    String nextName() throws IOException {
+        return nextString();
+    }
+
+    String nextString() throws IOException {
+        expect('"');
+        text.setLength(0);
+        while (true) {
+            int c = read();
+            if (c == -1) throw new IOException("Unterminated string");
+            if (c == '"') return text.toString();
+            if (c == '\\') {
+                c = read();
+                switch (c) {
+                    case 'n': text.append('\n'); break;
+                    case 't': text.append('\t'); break;
+                    case 'r': text.append('\r'); break;
+                    case 'b': text.append('\b'); break;
+                    case 'f': text.append('\f'); break;
+                    case 'u':
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            code = code * 16 + Character.digit(read(), 16);
+                        }
+                        text.append((char) code);
+                        break;
+                    default: text.append((char) c); break;
+                }
+            } else {
+                text.append((char) c);
+            }
+        }
+    }
+
+    int nextInt() throws IOException {
+        int c = peekChar();
+        boolean negative = c == '-';
+        if (negative) position++;
+        long value = 0;
+        while (true) {
+            c = peekRaw();
+            if (c < '0' || c > '9') break;
+            value = value * 10 + (c - '0');
+            position++;
+        }
+        if (c == '.' || c == 'e' || c == 'E') {
+            // Not expected in card data; drop the fraction rather than fail
+            skipScalar();
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    void skipValue() throws IOException {
+        int c = peekChar();
+        if (c == '"') {
+            skipString();
+        } else if (c == '[' || c == '{') {
+            int depth = 0;
+            do {
+                c = peekChar();
+                if (c == '"') {
+                    skipString();
+                    continue;
+                }
+                position++;
+                if (c == '[' || c == '{') depth++;
+                else if (c == ']' || c == '}') depth--;
+                else if (c == -1) throw new IOException("Unterminated value");
+            } while (depth > 0);
+        } else {
+            skipScalar();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // Skips a string without building it
+    private void skipString() throws IOException {
+        expect('"');
+        while (true) {
+            int c = read();
+            if (c == -1) throw new IOException("Unterminated string");
+            if (c == '"') return;
+            if (c == '\\') read();
+        }
+    }
+
+    private void skipScalar() throws IOException {
+        while (true) {
+            int c = peekRaw();
+            if (c == -1 || c == ',' || c == ']' || c == '}' || c == ':' || Character.isWhitespace(c)) return;
+            position++;
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        int c = peekChar();
+        if (c != expected) {
+            throw new IOException("Expected '" + expected + "' but found " + (c == -1 ? "end of input" : "'" + (char) c + "'"));
+        }
+        position++;
+    }
+
+    // Next significant character, skipping whitespace and the ',' / ':' separators
+    private int peekChar() throws IOException {
+        while (true) {
+            int c = peekRaw();
+            if (c == ',' || c == ':' || c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\uFEFF') {
+                position++;
+            } else {
+                return c;
+            }
+        }
+    }
+
+    private int peekRaw() throws IOException {
+        if (position == limit) {
+            limit = in.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position];
+    }
+
+    private int read() throws IOException {
+        int c = peekRaw();
+        if (c != -1) position++;
+        return c;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.ygo;
+
+/**
+ * An ordered play of cards as the game resolves it: cards are fused left to right, and when a
+ * pair does not fuse the earlier card is discarded and the chain continues from the later one.
+ */
+public class PlaySequence {
+    private final Card[] cards;
+    private final int[] positions;
+    private final boolean[] fromField;
+    private final Card[] steps;
+    private final boolean[] fused;
+    private final Card finalCard;
+    private final long score;
+
+    public PlaySequence(Card[] cards, int[] positions, boolean[] fromField, Card[] steps, boolean[] fused,
+                        Card finalCard, long score) {
+        this.cards = cards;
+        this.positions = positions;
+        this.fromField = fromField;
+        this.steps = steps;
+        this.fused = fused;
+        this.finalCard = finalCard;
+        this.score = score;
+    }
+
+    public int getCardCount() { return cards.length; }
+
+    // Played cards in order, with their hand or field slot position
+    public Card getCard(int i) { return cards[i]; }
+    public int getPosition(int i) { return positions[i]; }
+    public boolean isFromField(int i) { return fromField[i]; }
+
+    // Card on top of the chain after the i-th card has been played, and whether it fused
+    public Card getStep(int i) { return steps[i]; }
+    public boolean isFused(int i) { return fused[i]; }
+
+    public Card getFinalCard() { return finalCard; }
+    public long getScore() { return score; }
+
+    public String getDescription() {
+        StringBuilder description = new StringBuilder(cards[0].getName());
+        if (fromField[0]) description.append(" (Field)");
+        for (int i = 1; i < cards.length; i++) {
+            description.append(" + ").append(cards[i].getName());
+            description.append(fused[i] ? " → " + steps[i].getName() : " (no fusion)");
+        }
+        return description.toString();
+    }
+
+    @Override
+    public String toString() {
+        return getDescription() + " = " + finalCard;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.ygo;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CardNameBkTreeTest {
+    private final List<Card> cards = Arrays.asList(
+            new Card(1, "Griggle", "Plant", 350),
+            new Card(2, "Hitotsu-me Giant", "Beast-Warrior", 1200),
+            new Card(3, "Grigle", "Plant", 300),
+            new Card(4, "Giggle", "Fiend", 400),
+            new Card(5, "Kuriboh", "Fiend", 300));
+    private final CardNameBkTree tree = new CardNameBkTree(cards);
+
+    @Test
+    public void search_findsNamesWithinDistance() {
+        List<Card> results = tree.search("griggel", 2, 10, null);
+        // griggle: one transposition (2 edits), grigle 2, giggle 3
+        assertEquals(Arrays.asList(1, 3), ids(results));
+        assertEquals(Arrays.asList(2), ids(tree.search("hitotsume gaint", 2, 10, null)));
+        assertTrue(tree.search("zzzz", 2, 10, null).isEmpty());
+    }
+
+    @Test
+    public void search_breaksTiesByRanking() {
+        // grigle and griggle are both one edit from "grigge"; card 3 is used more
+        assertEquals(Arrays.asList(1, 3), ids(tree.search("grigge", 1, 10, null)));
+        assertEquals(Arrays.asList(3, 1), ids(tree.search("grigge", 1, 10, id -> id == 3 ? 5 : 0)));
+        assertEquals(Arrays.asList(3), ids(tree.search("grigge", 1, 1, id -> id == 3 ? 5 : 0)));
+    }
+
+    private static List<Integer> ids(List<Card> cards) {
+        Integer[] ids = new Integer[cards.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = cards.get(i).getId();
+        }
+        return Arrays.asList(ids);
+    }
+}
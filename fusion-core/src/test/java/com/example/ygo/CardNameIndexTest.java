@@ -0,0 +1,49 @@
+package com.example.ygo;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CardNameIndexTest {
+    private final List<Card> cards = Arrays.asList(
+            new Card(1, "Blue-eyes White Dragon", "Dragon", 3000),
+            new Card(2, "Baby Dragon", "Dragon", 1200),
+            new Card(3, "Dragon Zombie", "Zombie", 1600),
+            new Card(4, "Koumori Dragon", "Dragon", 1500),
+            new Card(5, "Griggle", "Plant", 350));
+    private final CardNameIndex index = new CardNameIndex(cards);
+
+    @Test
+    public void search_ranksPrefixThenWordThenInfix() {
+        assertEquals(ids(3, 1, 2, 4), ids(index.search("DRAGON", 10)));
+        // "gon" only appears inside words, so card order decides
+        assertEquals(ids(1, 2, 3, 4), ids(index.search("gon", 10)));
+        assertEquals(ids(3, 1), ids(index.search("dragon", 2)));
+    }
+
+    @Test
+    public void search_matchesSubstringsOfAnyLength() {
+        assertEquals(ids(5), ids(index.search("iggl", 10)));
+        assertEquals(ids(1), ids(index.search("-eyes w", 10)));
+        assertTrue(index.search("dragonz", 10).isEmpty());
+        assertEquals(5, index.search("", 10).size());
+        assertEquals(2, index.findFirst("baby").getId());
+        assertNull(index.findFirst("xyz"));
+    }
+
+    private static List<Integer> ids(Integer... ids) {
+        return Arrays.asList(ids);
+    }
+
+    private static List<Integer> ids(List<Card> cards) {
+        List<Integer> ids = new ArrayList<>();
+        for (Card card : cards) {
+            ids.add(card.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.ygo;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CardUsageRankingTest {
+    private final List<Card> cards = Arrays.asList(
+            new Card(1, "Mystical Elf", "Spellcaster", 800),
+            new Card(2, "baby Dragon", "Dragon", 1200),
+            new Card(3, "Griggle", "Plant", 350),
+            new Card(4, "Kuriboh", "Fiend", 300));
+
+    @Test
+    public void sort_putsRecentlyUsedFirstThenNames() {
+        CardUsageRanking ranking = new CardUsageRanking(cards);
+        ranking.setUsage(4, 3, 1000L);
+        ranking.recordUse(1, 2000L);
+
+        List<Card> sorted = new ArrayList<>(cards);
+        ranking.sort(sorted);
+
+        // Elf (used last), Kuriboh (used earlier), then baby Dragon and Griggle by name
+        assertEquals(Arrays.asList(1, 4, 2, 3), ids(sorted));
+        assertEquals(1, ranking.getUsageCount(1));
+        assertEquals(3, ranking.getUsageCount(4));
+        assertEquals(0, ranking.getUsageCount(99));
+
+        ranking.recordUse(3, 3000L);
+        ranking.sort(sorted);
+        assertEquals(Arrays.asList(3, 1, 4, 2), ids(sorted));
+    }
+
+    @Test
+    public void moveUsedFirst_keepsOrderOfUnusedCards() {
+        CardUsageRanking ranking = new CardUsageRanking(cards);
+        ranking.setUsage(2, 1, 1000L);
+        ranking.setUsage(4, 1, 2000L);
+
+        // Some relevance order from a search, not by name
+        List<Card> results = new ArrayList<>(Arrays.asList(cards.get(2), cards.get(1), cards.get(0), cards.get(3)));
+        ranking.moveUsedFirst(results);
+
+        assertEquals(Arrays.asList(4, 2, 3, 1), ids(results));
+    }
+
+    private static List<Integer> ids(List<Card> cards) {
+        List<Integer> ids = new ArrayList<>();
+        for (Card card : cards) {
+            ids.add(card.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.ygo;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class CardUsageStoreTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void setUsage_persistsAcrossReopenAndGrows() throws IOException {
+        File path = new File(folder.getRoot(), "card_usage.bin");
+        try (CardUsageStore store = CardUsageStore.open(path, 4)) {
+            assertTrue(store.isNew());
+            assertFalse(store.isImported());
+            store.setUsage(2, 5, 1000L);
+            store.setUsage(4, 1, 2000L);
+            store.setUsage(2, 6, 3000L);
+            // Past the initial capacity
+            store.setUsage(40, 2, 4000L);
+            store.requestFlush();
+            store.markImported();
+        }
+
+        try (CardUsageStore store = CardUsageStore.open(path, 4)) {
+            assertFalse(store.isNew());
+            assertTrue(store.isImported());
+            assertEquals(6, store.getUsageCount(2));
+            assertEquals(3000L, store.getLastUsed(2));
+            assertEquals(2, store.getUsageCount(40));
+            assertEquals(0, store.getUsageCount(3));
+            assertEquals(0, store.getUsageCount(99));
+
+            CardUsageRanking ranking = new CardUsageRanking(Arrays.asList(
+                    new Card(2, "Mystical Elf", "Spellcaster", 800),
+                    new Card(4, "Kuriboh", "Fiend", 300)));
+            store.loadInto(ranking);
+            assertEquals(6, ranking.getUsageCount(2));
+            assertEquals(2000L, ranking.getLastUsed(4));
+        }
+    }
+
+    @Test
+    public void open_replacesInvalidFile() throws IOException {
+        File path = new File(folder.getRoot(), "card_usage.bin");
+        try (FileOutputStream out = new FileOutputStream(path)) {
+            out.write(new byte[]{'<', '?', 'x', 'm', 'l'});
+        }
+        try (CardUsageStore store = CardUsageStore.open(path, 10)) {
+            assertTrue(store.isNew());
+            assertEquals(0, store.getUsageCount(10));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.ygo;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks the binary assets compiled by app/card-data.gradle against what the core parsers make
+ * of the shipped source data, so the Groovy compilers cannot drift from them. The Gradle test
+ * task compiles the assets first and passes their paths in.
+ */
+public class CompiledAssetsTest {
+    @Test
+    public void cardTable_matchesCardsJson() throws IOException {
+        File json = new File(System.getProperty("ygo.cardsJson", "../app/src/main/assets/Cards.json"));
+        File compiled = new File(System.getProperty("ygo.cardTable", "../app/build/generated/assets/cardData/cards.bin"));
+        assumeTrue(json.isFile() && compiled.isFile());
+
+        CardDataBuilder parsed = new CardDataBuilder();
+        try (InputStreamReader reader = new InputStreamReader(Files.newInputStream(json.toPath()), StandardCharsets.UTF_8)) {
+            FusionEngine.readCardsJson(reader, parsed);
+        }
+        CardDataBuilder read = new CardDataBuilder();
+        CardTableReader.read(ByteBuffer.wrap(Files.readAllBytes(compiled.toPath())), read);
+
+        assertTrue(parsed.getCards().size() > 0);
+        assertEquals(parsed.getCards().size(), read.getCards().size());
+        for (int i = 0; i < parsed.getCards().size(); i++) {
+            Card expected = parsed.getCards().get(i);
+            Card actual = read.getCards().get(i);
+            String card = "card " + expected.getId();
+            assertEquals(card, expected.getId(), actual.getId());
+            assertEquals(card, expected.getName(), actual.getName());
+            assertEquals(card, expected.getType(), actual.getType());
+            assertEquals(card, expected.getAttack(), actual.getAttack());
+        }
+        assertEquals(parsed.getMaxCardId(), read.getMaxCardId());
+        // cards.bin sorts the fusion pairs; the JSON lists them by card
+        assertArrayEquals(sortedFusions(parsed), sortedFusions(read));
+    }
+
+    @Test
+    public void dropTable_matchesParsedDroplist() throws IOException {
+        File droplist = new File(System.getProperty("ygo.droplist", "../app/src/main/assets/carddata/droplist"));
+        File compiled = new File(System.getProperty("ygo.dropTable", "../app/build/generated/assets/cardData/drops.bin"));
+        assumeTrue(droplist.isFile() && compiled.isFile());
+
+        DropTable parsed;
+        try (InputStreamReader reader = new InputStreamReader(Files.newInputStream(droplist.toPath()), StandardCharsets.UTF_8)) {
+            parsed = DropTable.parse(reader);
+        }
+        DropTable read = DropTableReader.read(ByteBuffer.wrap(Files.readAllBytes(compiled.toPath())));
+
+        assertTrue(parsed.getSectionCount() > 0);
+        assertEquals(parsed.getOpponentCount(), read.getOpponentCount());
+        assertEquals(parsed.getSectionCount(), read.getSectionCount());
+        for (int s = 0; s < parsed.getSectionCount(); s++) {
+            String section = "section " + s;
+            assertEquals(section, parsed.getOpponentName(parsed.getSectionOpponent(s)), read.getOpponentName(read.getSectionOpponent(s)));
+            assertEquals(section, parsed.getSectionDifficulty(s), read.getSectionDifficulty(s));
+            assertEquals(section, parsed.getSectionDropCount(s), read.getSectionDropCount(s));
+            for (int i = 0; i < parsed.getSectionDropCount(s); i++) {
+                assertEquals(section, parsed.getSectionCard(s, i), read.getSectionCard(s, i));
+                assertEquals(section, parsed.getSectionRate(s, i), read.getSectionRate(s, i));
+            }
+        }
+    }
+
+    // (card1, card2, result) packed into one long per pair, sorted
+    private static long[] sortedFusions(CardDataBuilder data) {
+        long[] fusions = new long[data.getPairCount()];
+        for (int i = 0; i < fusions.length; i++) {
+            fusions[i] = (long) data.getPairCard1()[i] << 32 | (long) data.getPairCard2()[i] << 16 | data.getPairResult()[i];
+        }
+        Arrays.sort(fusions);
+        return fusions;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.ygo;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class DeckOptimizerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final FusionEngine engine = new FusionEngine();
+
+    @Before
+    public void loadCards() throws IOException {
+        // Cards 1..20 are weak; only 1 + 2 = 21 (3000) fuses
+        StringBuilder json = new StringBuilder("[");
+        for (int id = 1; id <= 21; id++) {
+            if (id > 1) json.append(',');
+            json.append("{\"Id\": ").append(id).append(", \"Name\": \"Card ").append(id)
+                    .append("\", \"Attack\": ").append(id == 21 ? 3000 : 100 + id).append(", \"Fusions\": [");
+            if (id == 1) json.append("{\"_card1\": 1, \"_card2\": 2, \"_result\": 21}");
+            json.append("]}");
+        }
+        json.append(']');
+        File cardsJson = folder.newFile("Cards.json");
+        Files.write(cardsJson.toPath(), json.toString().getBytes(StandardCharsets.UTF_8));
+        engine.loadData(new FileCardDataSource(null, cardsJson));
+    }
+
+    @Test
+    public void optimize_keepsEveryCopyOfTheFusionMaterials() {
+        int[] owned = new int[22];
+        for (int id = 1; id <= 20; id++) {
+            owned[id] = 5;
+        }
+        owned[21] = 0;
+        long[] progressCalls = new long[1];
+        DeckOptimizer.Result result = new DeckOptimizer(engine).optimize(owned, 1000, 3L,
+                (deck, score, moves, elapsed) -> progressCalls[0]++);
+
+        int[] deck = result.getDeck();
+        assertEquals(DeckSimulator.DECK_SIZE, deck.length);
+        int[] copies = new int[22];
+        for (int card : deck) {
+            copies[card]++;
+        }
+        for (int id = 1; id <= 21; id++) {
+            assertTrue(copies[id] <= DeckOptimizer.MAX_COPIES);
+        }
+        assertEquals(0, copies[21]);
+        assertEquals(3, copies[1]);
+        assertEquals(3, copies[2]);
+        assertTrue(progressCalls[0] > 0);
+        // Both materials in about one hand in ten: 0.1 * 3000 + 0.9 * ~115
+        assertEquals(405, result.getScore(), 25);
+    }
+
+    @Test(timeout = 10000)
+    public void optimize_returnsTheWholeCollectionWhenItIsExactlyADeck() {
+        int[] owned = new int[22];
+        for (int id = 1; id <= 20; id++) {
+            owned[id] = 2;
+        }
+        // Far longer than the test timeout: there is nothing to search, so it must return early
+        DeckOptimizer.Result result = new DeckOptimizer(engine).optimize(owned, 60000, 5L, null);
+
+        int[] copies = new int[22];
+        for (int card : result.getDeck()) {
+            copies[card]++;
+        }
+        for (int id = 1; id <= 20; id++) {
+            assertEquals(2, copies[id]);
+        }
+        assertEquals(0, result.getMovesTried());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void optimize_rejectsPoolSmallerThanADeck() {
+        int[] owned = new int[22];
+        owned[1] = 3;
+        new DeckOptimizer(engine).optimize(owned, 100, 1L, null);
+    }
+}
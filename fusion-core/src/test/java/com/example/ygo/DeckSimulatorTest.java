@@ -0,0 +1,68 @@
+package com.example.ygo;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class DeckSimulatorTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final FusionEngine engine = new FusionEngine();
+    private final int[] deck = new int[DeckSimulator.DECK_SIZE];
+
+    @Before
+    public void loadCards() throws IOException {
+        // 1 (100) + 2 (200) = 3 (1000)
+        String json = "[{\"Id\": 1, \"Name\": \"A\", \"Attack\": 100,"
+                + " \"Fusions\": [{\"_card1\": 1, \"_card2\": 2, \"_result\": 3}]},"
+                + " {\"Id\": 2, \"Name\": \"B\", \"Attack\": 200, \"Fusions\": []},"
+                + " {\"Id\": 3, \"Name\": \"C\", \"Attack\": 1000, \"Fusions\": []}]";
+        File cardsJson = folder.newFile("Cards.json");
+        Files.write(cardsJson.toPath(), json.getBytes(StandardCharsets.UTF_8));
+        engine.loadData(new FileCardDataSource(null, cardsJson));
+
+        Arrays.fill(deck, 0, 20, 1);
+        Arrays.fill(deck, 20, 40, 2);
+    }
+
+    @Test
+    public void simulate_estimatesOpeningHandOdds() {
+        DeckStatistics statistics = new DeckSimulator(engine).simulate(deck, 50000, 3, 42L, null);
+
+        // Only hands of a single kind cannot fuse: 2 * C(20, 5) / C(40, 5) = 0.047
+        assertEquals(50000, statistics.getHandCount(0));
+        assertEquals(0.953, statistics.getProbabilityAtLeast(0, 1000), 0.01);
+        assertEquals(1.0, statistics.getProbabilityAtLeast(0, 100), 0.0);
+        assertEquals(Collections.singletonList(3), statistics.getMostFrequentFusions(5));
+    }
+
+    @Test
+    public void simulate_sameSeedGivesSameStatistics() {
+        engine.setParallelSearchEnabled(false);
+        DeckStatistics sequential = new DeckSimulator(engine).simulate(deck, 40000, 4, 7L, null);
+        engine.setParallelSearchEnabled(true);
+        // Batches report as they finish, so the latest report is the one with the most deals
+        AtomicLong mostDone = new AtomicLong();
+        DeckStatistics parallel = new DeckSimulator(engine).simulate(deck, 40000, 4, 7L,
+                (partial, dealsDone, dealsTotal) -> mostDone.accumulateAndGet(dealsDone, Math::max));
+
+        assertEquals(40000, mostDone.get());
+        for (int turn = 0; turn < 4; turn++) {
+            assertEquals(sequential.getHandCount(turn), parallel.getHandCount(turn));
+            assertEquals(sequential.getMeanBestAttack(turn), parallel.getMeanBestAttack(turn), 0.0);
+        }
+        assertEquals(sequential.getFusionCount(3), parallel.getFusionCount(3));
+    }
+}
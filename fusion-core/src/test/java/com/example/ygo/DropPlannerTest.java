@@ -0,0 +1,82 @@
+package com.example.ygo;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class DropPlannerTest {
+    private static final String DROPLIST = "S/A POW SECTION\n\n"
+            + "Spoiler: Simon Muran\n\n"
+            + "2 Mystical Elf 1024\n"
+            + "9 Shadow Specter 512\n"
+            + "10 Blackland Fire Dragon 512\n"
+            + "TOT: 2048\n"
+            + "B/C/D POW&TEC SECTION\n"
+            + "Spoiler: Simon Muran\n"
+            + "9 Shadow Specter 2047\n"
+            + "2 Mystical Elf 1\n"
+            + "9 Shadow Specter 2047\n"
+            + "Spoiler: Teana\n"
+            + "10 Blackland Fire Dragon 2048\n";
+
+    @Test
+    public void parse_buildsSectionsAndCardIndex() throws IOException {
+        DropTable table = DropTable.parse(new StringReader(DROPLIST));
+
+        assertEquals(3, table.getSectionCount());
+        assertEquals(2, table.getOpponentCount());
+        assertEquals("Simon Muran", table.getOpponentName(table.getSectionOpponent(1)));
+        assertEquals(DropDifficulty.BCD_POW_TEC, table.getSectionDifficulty(1));
+        // Sorted by card id within a section, the repeated line dropped
+        assertEquals(2, table.getSectionDropCount(1));
+        assertEquals(2, table.getSectionCard(1, 0));
+        assertEquals(1, table.getSectionRate(1, 0));
+        assertEquals(2047, table.getRate(1, 9));
+        assertEquals(0, table.getRate(2, 9));
+
+        assertEquals(2, table.getDropCount(2));
+        assertEquals(0, table.getDropSection(2, 0));
+        assertEquals(1024, table.getDropRate(2, 0));
+        assertEquals(0, table.getDropCount(700));
+    }
+
+    @Test
+    public void rankSections_prefersCoverageThenFewestDuels() throws IOException {
+        DropPlanner planner = new DropPlanner(DropTable.parse(new StringReader(DROPLIST)));
+        List<DropPlanner.Option> options = planner.rankSections(new int[]{9, 10});
+
+        // Section 0 drops both at 1/4 each: 4 + 4 - 2 = 6 duels
+        assertEquals(0, options.get(0).getSection());
+        assertArrayEquals(new int[]{9, 10}, options.get(0).getCards());
+        assertEquals(6.0, options.get(0).getExpectedDuels(), 1e-9);
+        assertEquals(0.5, options.get(0).getChancePerDuel(), 1e-9);
+        // Then the single-card sections, Teana's guaranteed drop first
+        assertEquals(2, options.get(1).getSection());
+        assertEquals(1.0, options.get(1).getExpectedDuels(), 1e-9);
+        assertEquals(3, options.size());
+
+        // Splitting the targets over two near-certain sections beats farming both in one
+        List<DropPlanner.Option> route = planner.planRoute(new int[]{9, 10, 10, 722});
+        assertEquals(2, route.size());
+        assertEquals(2, route.get(0).getSection());
+        assertEquals(1, route.get(1).getSection());
+    }
+
+    @Test
+    public void expectedDuels_integrationMatchesInclusionExclusion() {
+        double[] probabilities = new double[12];
+        for (int i = 0; i < probabilities.length; i++) {
+            probabilities[i] = (i + 1) / 2048.0;
+        }
+        // 10 targets are computed exactly; compare the integral on the same set via 11 with a
+        // near-certain extra card, which barely changes the answer
+        double exact = DropPlanner.expectedDuels(probabilities, 10);
+        probabilities[10] = 0.9;
+        double integrated = DropPlanner.expectedDuels(probabilities, 11);
+        assertEquals(exact, integrated, exact * 1e-3);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.ygo;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class DropRegistryTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void loadAsync_fallsBackToDroplistWhenTableIsCorrupt() throws IOException {
+        // A valid header whose one opponent name points past the empty string table
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(DropTableReader.MAGIC);
+        out.writeShort(DropTableReader.VERSION);
+        out.writeShort(1);
+        out.writeShort(0);
+        out.writeShort(0);
+        out.writeInt(0);
+        out.writeInt(0);
+        out.writeInt(5);
+        out.writeShort(3);
+        File dropTable = folder.newFile("drops.bin");
+        Files.write(dropTable.toPath(), bytes.toByteArray());
+        File droplist = folder.newFile("droplist");
+        Files.write(droplist.toPath(), "Spoiler: Teana\n10 Blackland Fire Dragon 2048\n".getBytes(StandardCharsets.UTF_8));
+
+        DropRegistry registry = new DropRegistry();
+        DropTable table = registry.loadAsync(new FileCardDataSource(null, null, dropTable, droplist)).join();
+
+        assertEquals("Teana", table.getOpponentName(0));
+        assertEquals(2048, table.getRate(0, 10));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.ygo;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+public class DropTableReaderTest {
+    @Test
+    public void read_decodesCompiledLayout() throws IOException {
+        // Two opponents; Teana has one B/C/D section dropping cards 10 and 2
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        byte[] names = "Simon MuranTeana".getBytes(StandardCharsets.UTF_8);
+        out.writeInt(DropTableReader.MAGIC);
+        out.writeShort(DropTableReader.VERSION);
+        out.writeShort(2);
+        out.writeShort(1);
+        out.writeShort(0);
+        out.writeInt(2);
+        out.writeInt(names.length);
+        out.writeInt(0);
+        out.writeShort(11);
+        out.writeInt(11);
+        out.writeShort(5);
+        out.write(names);
+        out.writeShort(1);
+        out.writeByte(DropDifficulty.BCD_POW_TEC.ordinal());
+        out.writeByte(0);
+        out.writeShort(2);
+        out.writeShort(2);
+        out.writeShort(48);
+        out.writeShort(10);
+        out.writeShort(2000);
+
+        DropTable table = DropTableReader.read(ByteBuffer.wrap(bytes.toByteArray()));
+
+        assertEquals("Teana", table.getOpponentName(table.getSectionOpponent(0)));
+        assertEquals(DropDifficulty.BCD_POW_TEC, table.getSectionDifficulty(0));
+        assertEquals(2000, table.getRate(0, 10));
+        assertEquals(1, table.getDropCount(2));
+        assertEquals(48, table.getDropRate(2, 0));
+    }
+
+    @Test(expected = IOException.class)
+    public void read_rejectsOtherFiles() throws IOException {
+        DropTableReader.read(ByteBuffer.wrap(new byte[32]));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.ygo;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class FusionBatchEvaluatorTest {
+    // 1 + 2 = 5, 5 + 3 = 6, 6 + 4 = 7, 3 + 4 = 8
+    private final FusionIndex index = FusionIndex.build(8,
+            new int[]{1, 5, 6, 3},
+            new int[]{2, 3, 4, 4},
+            new int[]{5, 6, 7, 8}, 4);
+    private final int[] attackById = {0, 100, 200, 300, 400, 1000, 1500, 2500, 2000};
+
+    private final int[] hands = {
+            1, 2, 3, 4,
+            4, 0, 0, 0,
+            1, 0, 0, 0};
+    private final int[] fields = {
+            0, 0,
+            0, 6,
+            0, 0};
+
+    @Test
+    public void evaluate_summarizesEachState() {
+        FusionBatchEvaluator.Summaries summaries = new FusionBatchEvaluator.Summaries(3);
+        new FusionBatchEvaluator(index, attackById).evaluate(hands, 4, fields, 2, 0, 3, summaries);
+
+        // 1 + 2 = 5, (1 + 2) + 3 = 6 and 3 + 4 = 8; 8 is the strongest
+        assertEquals(8, summaries.bestResult[0]);
+        assertEquals(2000, summaries.bestAttack[0]);
+        assertEquals(2, summaries.minCardsUsed[0]);
+        assertEquals(3, summaries.resultCount[0]);
+
+        // Field 6 + hand 4 = 7
+        assertEquals(7, summaries.bestResult[1]);
+        assertEquals(1, summaries.resultCount[1]);
+
+        assertEquals(FusionIndex.NO_FUSION, summaries.bestResult[2]);
+        assertEquals(0, summaries.resultCount[2]);
+    }
+
+    @Test
+    public void evaluateParallel_matchesSequential() {
+        int states = 5000;
+        int[] manyHands = new int[states * 4];
+        for (int i = 0; i < manyHands.length; i++) {
+            manyHands[i] = hands[i % hands.length];
+        }
+        FusionBatchEvaluator.Summaries sequential = new FusionBatchEvaluator.Summaries(states);
+        new FusionBatchEvaluator(index, attackById).evaluate(manyHands, 4, null, 0, 0, states, sequential);
+        FusionBatchEvaluator.Summaries parallel = new FusionBatchEvaluator.Summaries(states);
+        FusionBatchEvaluator.evaluateParallel(new ForkJoinPool(4), index, attackById, manyHands, 4, null, 0, states, parallel);
+
+        assertArrayEquals(sequential.bestResult, parallel.bestResult);
+        assertArrayEquals(sequential.minCardsUsed, parallel.minCardsUsed);
+        assertArrayEquals(sequential.resultCount, parallel.resultCount);
+    }
+}
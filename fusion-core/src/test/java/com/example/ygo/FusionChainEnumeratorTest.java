@@ -0,0 +1,74 @@
+package com.example.ygo;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class FusionChainEnumeratorTest {
+    // 1 + 2 = 5, 5 + 3 = 6, 6 + 4 = 7, 3 + 4 = 8
+    private final FusionIndex index = FusionIndex.build(10,
+            new int[]{1, 5, 6, 3},
+            new int[]{2, 3, 4, 4},
+            new int[]{5, 6, 7, 8}, 4);
+
+    @Test
+    public void run_findsDeepChainsWithShortestWitness() {
+        List<FusionChainEnumerator.Reach> reaches = new FusionChainEnumerator(index, new int[]{4, 3, 2, 1}, 4).run(-1);
+
+        assertEquals(4, reaches.size());
+        assertReach(reaches.get(0), 5, 2, 3);
+        assertReach(reaches.get(1), 6, 2, 3, 1);
+        assertReach(reaches.get(2), 7, 2, 3, 1, 0);
+        assertReach(reaches.get(3), 8, 0, 1);
+    }
+
+    @Test
+    public void run_respectsMaxMaterialsAndFirstSlot() {
+        FusionChainEnumerator enumerator = new FusionChainEnumerator(index, new int[]{4, 3, 2, 1}, 3);
+
+        assertEquals(3, enumerator.run(-1).size());
+        List<FusionChainEnumerator.Reach> fromSlot0 = enumerator.run(0);
+        assertEquals(1, fromSlot0.size());
+        assertReach(fromSlot0.get(0), 8, 0, 1);
+    }
+
+    @Test
+    public void runParallel_matchesSequentialRun() {
+        int[] slots = {4, 3, 2, 1, 3, 2};
+        List<FusionChainEnumerator.Reach> sequential = new FusionChainEnumerator(index, slots, 6).run(-1);
+        List<FusionChainEnumerator.Reach> parallel = new FusionChainEnumerator(index, slots, 6).runParallel(new ForkJoinPool(4));
+
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertReach(parallel.get(i), sequential.get(i).resultId, sequential.get(i).slots);
+        }
+    }
+
+    @Test
+    public void runParallel_sharesOneStateBudgetAcrossTasks() {
+        int[] slots = {4, 3, 2, 1, 3, 2, 1, 4};
+        FusionChainEnumerator unlimited = new FusionChainEnumerator(index, slots, 8);
+        unlimited.runParallel(new ForkJoinPool(4));
+        assertFalse(unlimited.isTruncated());
+
+        // The full search has 8 states and no first slot needs more than 4: a budget of 5 fits
+        // every task on its own, so only a budget shared between the tasks truncates
+        FusionChainEnumerator capped = new FusionChainEnumerator(index, slots, 8, 5);
+        List<FusionChainEnumerator.Reach> reaches = capped.runParallel(new ForkJoinPool(4));
+        assertTrue(capped.isTruncated());
+        assertFalse(reaches.isEmpty());
+
+        FusionChainEnumerator sequential = new FusionChainEnumerator(index, slots, 8, 5);
+        sequential.run(-1);
+        assertTrue(sequential.isTruncated());
+        assertEquals(5, sequential.getStateCount());
+    }
+
+    private static void assertReach(FusionChainEnumerator.Reach reach, int resultId, int... slots) {
+        assertEquals(resultId, reach.resultId);
+        assertArrayEquals(slots, reach.slots);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.ygo;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.Assert.*;
+
+public class FusionEngineTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void loadAsync_retriesAfterFailedLoad() throws IOException {
+        FusionEngine engine = new FusionEngine();
+        File cardsJson = new File(folder.getRoot(), "Cards.json");
+        FileCardDataSource source = new FileCardDataSource(null, cardsJson);
+
+        try {
+            engine.loadAsync(source).join();
+            fail("Loaded without Cards.json");
+        } catch (CompletionException expected) {
+            assertFalse(engine.isLoaded());
+        }
+
+        Files.write(cardsJson.toPath(), "[{\"Id\": 1, \"Name\": \"A\", \"Attack\": 100}]".getBytes(StandardCharsets.UTF_8));
+        assertSame(engine, engine.loadAsync(source).join());
+        assertTrue(engine.isLoaded());
+        assertSame(engine.loadAsync(source), engine.loadAsync(source));
+    }
+
+    @Test
+    public void loadData_fallsBackToJsonWhenCardTableIsCorrupt() throws IOException {
+        // A valid header whose one card name points past the empty string table
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(CardTableReader.MAGIC);
+        out.writeShort(CardTableReader.VERSION);
+        out.writeShort(1);
+        out.writeInt(0);
+        out.writeInt(0);
+        out.writeShort(1);
+        out.writeByte(0);
+        out.writeByte(0);
+        out.writeShort(100);
+        out.writeInt(5);
+        out.writeShort(3);
+        File cardTable = folder.newFile("cards.bin");
+        Files.write(cardTable.toPath(), bytes.toByteArray());
+        File cardsJson = folder.newFile("Cards.json");
+        Files.write(cardsJson.toPath(), "[{\"Id\": 1, \"Name\": \"A\", \"Attack\": 100}]".getBytes(StandardCharsets.UTF_8));
+
+        FusionEngine engine = new FusionEngine();
+        engine.loadData(new FileCardDataSource(cardTable, cardsJson));
+
+        assertTrue(engine.isLoaded());
+        assertEquals("A", engine.findCardById(1).getName());
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.ygo;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FusionIndexTest {
+    @Test
+    public void lookup_isSymmetric() {
+        FusionIndex index = FusionIndex.build(10,
+                new int[]{2, 2, 5},
+                new int[]{8, 9, 5},
+                new int[]{7, 4, 3}, 3);
+
+        assertEquals(7, index.lookup(2, 8));
+        assertEquals(7, index.lookup(8, 2));
+        assertEquals(4, index.lookup(9, 2));
+        assertEquals(3, index.lookup(5, 5));
+        assertEquals(3, index.getPairCount());
+        assertEquals(2, index.getPartnerCount(2));
+        assertEquals(1, index.getPartnerCount(5));
+    }
+
+    @Test
+    public void lookup_missingPairOrInvalidId() {
+        FusionIndex index = FusionIndex.build(10, new int[]{2}, new int[]{8}, new int[]{7}, 1);
+
+        assertEquals(FusionIndex.NO_FUSION, index.lookup(2, 9));
+        assertEquals(FusionIndex.NO_FUSION, index.lookup(-1, 8));
+        assertEquals(FusionIndex.NO_FUSION, index.lookup(2, 11));
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.ygo;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FusionPlannerTest {
+    // 1 + 2 = 5, 5 + 3 = 6, 6 + 4 = 7, 3 + 4 = 8
+    private static final int[] CARD1 = {1, 5, 6, 3};
+    private static final int[] CARD2 = {2, 3, 4, 4};
+    private static final int[] RESULT = {5, 6, 7, 8};
+    private static final int[] ATTACK = {0, 100, 200, 300, 400, 1000, 1500, 2500, 2000};
+
+    private final FusionPlanner planner = createPlanner();
+
+    @Test
+    public void plan_followsChainInPlayOrder() {
+        List<FusionPlanner.Plan> plans = planner.plan(new int[]{4, 3, 2, 1}, new int[0], 2, FusionPlanner.FINAL_ATTACK);
+
+        assertEquals(2, plans.size());
+        assertArrayEquals(new int[]{2, 3, 1, 0}, plans.get(0).slots);
+        assertArrayEquals(new int[]{2, 5, 6, 7}, plans.get(0).steps);
+        assertEquals(7, plans.get(0).getFinalCard());
+        // Same chain with the first two cards swapped
+        assertArrayEquals(new int[]{3, 2, 1, 0}, plans.get(1).slots);
+    }
+
+    @Test
+    public void plan_canStartFromFieldCard() {
+        List<FusionPlanner.Plan> plans = planner.plan(new int[]{3, 4}, new int[]{5}, 2, FusionPlanner.FINAL_ATTACK_FEWEST_CARDS);
+
+        assertArrayEquals(new int[]{2, 0, 1}, plans.get(0).slots);
+        assertEquals(7, plans.get(0).getFinalCard());
+        assertArrayEquals(new int[]{0, 1}, plans.get(1).slots);
+        assertEquals(8, plans.get(1).getFinalCard());
+    }
+
+    @Test
+    public void plan_neverReturnsFieldCardAlone() {
+        // 7 is the strongest card but does not fuse with anything in hand
+        List<FusionPlanner.Plan> plans = planner.plan(new int[]{1, 2}, new int[]{7}, 10, FusionPlanner.FINAL_ATTACK_FEWEST_CARDS);
+
+        assertEquals(5, plans.get(0).getFinalCard());
+        for (FusionPlanner.Plan plan : plans) {
+            assertTrue(plan.slots.length > 1 || plan.slots[0] < 2);
+        }
+    }
+
+    @Test
+    public void plan_doesNotCountFieldCardAsUsed() {
+        // Field 5 + 3 + 4 = 7 spends two hand cards; the field monster was already on the board
+        List<FusionPlanner.Plan> plans = planner.plan(new int[]{3, 4}, new int[]{5}, 1, FusionPlanner.FINAL_ATTACK_FEWEST_CARDS);
+
+        assertEquals(FusionPlanner.FINAL_ATTACK_FEWEST_CARDS.score(2500, 2), plans.get(0).score);
+    }
+
+    @Test
+    public void plan_discardsEarlierCardWhenPairDoesNotFuse() {
+        List<FusionPlanner.Plan> plans = planner.plan(new int[]{2, 4}, new int[0], 3, FusionPlanner.FINAL_ATTACK);
+
+        // 2 + 4 does not fuse, so playing both leaves 4 on top
+        assertEquals(4, plans.get(0).getFinalCard());
+        assertFalse(plans.get(0).fused[plans.get(0).fused.length - 1]);
+    }
+
+    private static FusionPlanner createPlanner() {
+        return new FusionPlanner(FusionIndex.build(8, CARD1, CARD2, RESULT, 4), ATTACK);
+    }
+}
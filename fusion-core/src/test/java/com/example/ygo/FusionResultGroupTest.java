@@ -0,0 +1,39 @@
+package com.example.ygo;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FusionResultGroupTest {
+    private final Card cardA = new Card(1, "A", "Monster", 100);
+    private final Card cardB = new Card(2, "B", "Monster", 200);
+    private final Card cardC = new Card(3, "C", "Monster", 300);
+    private final Card result = new Card(5, "Result", "Monster", 1000);
+
+    @Test
+    public void group_collapsesSameMaterialsFromDifferentSlots() {
+        // A is held twice, so A + B shows up once per copy
+        FusionEngine.FusionResult first = new FusionEngine.FusionResult(cardA, cardB, result, 0, 1, FusionEngine.FusionType.DIRECT);
+        FusionEngine.FusionResult second = new FusionEngine.FusionResult(cardB, cardA, result, 1, 2, FusionEngine.FusionType.DIRECT);
+        FusionEngine.FusionResult other = new FusionEngine.FusionResult(cardA, cardC, result, 0, 3, FusionEngine.FusionType.DIRECT);
+
+        List<FusionResultGroup> groups = FusionResultGroup.group(Arrays.asList(first, other, second));
+
+        assertEquals(2, groups.size());
+        assertSame(first, groups.get(0).getRepresentative());
+        assertEquals(1, groups.get(0).getAlternativeCount());
+        assertSame(second, groups.get(0).getAlternative(0));
+        assertFalse(groups.get(1).hasAlternatives());
+    }
+
+    @Test
+    public void group_keepsFieldAndHandMaterialsApart() {
+        FusionEngine.FusionResult hand = new FusionEngine.FusionResult(cardA, cardB, result, 0, 1, FusionEngine.FusionType.DIRECT);
+        FusionEngine.FusionResult field = new FusionEngine.FusionResult(cardA, cardB, result, 0, 1, FusionEngine.FusionType.FIELD_DIRECT);
+
+        assertEquals(2, FusionResultGroup.group(Arrays.asList(hand, field)).size());
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.ygo;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.*;
+
+public class JsonPullReaderTest {
+    @Test
+    public void readsFieldsAndSkipsNestedValues() throws IOException {
+        String json = "[{\"Name\": \"Dark \\\"Magician\\\"\", \"Skip\": {\"a\": [1, \"]\", {}]}, \"Id\": -46},"
+                + " {\"Id\": 2, \"Flag\": true}]";
+        JsonPullReader reader = new JsonPullReader(new StringReader(json));
+
+        reader.beginArray();
+        reader.beginObject();
+        assertEquals("Name", reader.nextName());
+        assertEquals("Dark \"Magician\"", reader.nextString());
+        assertEquals("Skip", reader.nextName());
+        assertEquals(JsonPullReader.Token.BEGIN_OBJECT, reader.peek());
+        reader.skipValue();
+        assertEquals("Id", reader.nextName());
+        assertEquals(-46, reader.nextInt());
+        assertFalse(reader.hasNext());
+        reader.endObject();
+
+        assertTrue(reader.hasNext());
+        reader.beginObject();
+        assertEquals("Id", reader.nextName());
+        assertEquals(2, reader.nextInt());
+        assertEquals("Flag", reader.nextName());
+        reader.skipValue();
+        reader.endObject();
+        reader.endArray();
+        assertEquals(JsonPullReader.Token.END_DOCUMENT, reader.peek());
+    }
+}